@@ -0,0 +1,81 @@
+package com.AliceTheCat.benchmarks;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * The column types a stub result can hold, with the values generated for
+ * them.  Values are deterministic so runs are reproducible.
+ */
+public enum ColumnType {
+
+    INT(Types.INTEGER) {
+        @Override
+        Object value(final int row, final int column) {
+            return row * 31 + column;
+        }
+    },
+
+    LONG(Types.BIGINT) {
+        @Override
+        Object value(final int row, final int column) {
+            return row * 1_000_003L + column;
+        }
+    },
+
+    DOUBLE(Types.DOUBLE) {
+        @Override
+        Object value(final int row, final int column) {
+            return row * 0.25 + column;
+        }
+    },
+
+    STRING(Types.VARCHAR) {
+        @Override
+        Object value(final int row, final int column) {
+            return "value-" + (row % 64) + "-" + column;
+        }
+    },
+
+    DECIMAL(Types.NUMERIC) {
+        @Override
+        Object value(final int row, final int column) {
+            return BigDecimal.valueOf(row * 100L + column, 2);
+        }
+    },
+
+    BOOLEAN(Types.BOOLEAN) {
+        @Override
+        Object value(final int row, final int column) {
+            return (row + column) % 2 == 0;
+        }
+    },
+
+    TIMESTAMP(Types.TIMESTAMP) {
+        @Override
+        Object value(final int row, final int column) {
+            return new Timestamp(1_600_000_000_000L + row * 60_000L + column);
+        }
+    };
+
+    private final int sqlType;
+
+    ColumnType(final int sqlType) {
+        this.sqlType = sqlType;
+    }
+
+    /**
+     * @return The SQL type from {@code java.sql.Types}.
+     */
+    public int sqlType() {
+        return this.sqlType;
+    }
+
+    /**
+     * @param row The row index, starting at 0.
+     * @param column The column index, starting at 1.
+     * @return The value of the cell, never {@code null}.
+     */
+    abstract Object value(int row, int column);
+}
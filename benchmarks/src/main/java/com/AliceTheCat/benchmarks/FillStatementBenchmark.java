@@ -0,0 +1,71 @@
+package com.AliceTheCat.benchmarks;
+
+import com.AliceTheCat.BasicRowProcessor;
+import com.AliceTheCat.QueryRunner;
+import com.AliceTheCat.benchmarks.jdbc.StubPreparedStatement;
+import com.AliceTheCat.benchmarks.jdbc.StubResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures binding one row of parameters, from an array and from a bean.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FillStatementBenchmark {
+
+    @Param({"4", "16"})
+    private int columns;
+
+    @Param({"MIXED", "NUMERIC", "TEXT"})
+    private Layout layout;
+
+    private final QueryRunner runner = new QueryRunner();
+
+    private StubPreparedStatement stmt;
+
+    private Object[] params;
+
+    private Object bean;
+
+    private String[] propertyNames;
+
+    @Setup
+    public void setUp() throws SQLException {
+        this.stmt = new StubPreparedStatement(this.columns);
+        this.params = this.layout.row(0, this.columns);
+        this.propertyNames = this.layout.labels(this.columns);
+
+        final StubResultSet rs = this.layout.resultSet(1, this.columns);
+        rs.next();
+        this.bean = new BasicRowProcessor().toBean(rs, this.layout.beanType());
+    }
+
+    @Benchmark
+    public long fillStatement() throws SQLException {
+        this.runner.fillStatement(this.stmt, this.params);
+        return this.stmt.checksum();
+    }
+
+    @Benchmark
+    public long fillStatementWithBean() throws SQLException {
+        this.runner.fillStatementWithBean(this.stmt, this.bean, this.propertyNames);
+        return this.stmt.checksum();
+    }
+}
@@ -0,0 +1,102 @@
+package com.AliceTheCat.benchmarks;
+
+import com.AliceTheCat.benchmarks.jdbc.StubResultSet;
+
+import static com.AliceTheCat.benchmarks.ColumnType.BOOLEAN;
+import static com.AliceTheCat.benchmarks.ColumnType.DECIMAL;
+import static com.AliceTheCat.benchmarks.ColumnType.DOUBLE;
+import static com.AliceTheCat.benchmarks.ColumnType.INT;
+import static com.AliceTheCat.benchmarks.ColumnType.LONG;
+import static com.AliceTheCat.benchmarks.ColumnType.STRING;
+import static com.AliceTheCat.benchmarks.ColumnType.TIMESTAMP;
+
+/**
+ * The column layouts the benchmarks run with: up to 16 columns named
+ * {@code c1} to {@code c16}, and the bean class they map to.
+ */
+public enum Layout {
+
+    MIXED(MixedBean.class,
+            INT, LONG, DOUBLE, STRING, DECIMAL, BOOLEAN, TIMESTAMP, STRING,
+            INT, LONG, DOUBLE, STRING, DECIMAL, BOOLEAN, TIMESTAMP, STRING),
+
+    NUMERIC(NumericBean.class,
+            INT, LONG, DOUBLE, INT, LONG, DOUBLE, INT, LONG,
+            DOUBLE, INT, LONG, DOUBLE, INT, LONG, DOUBLE, LONG),
+
+    TEXT(TextBean.class,
+            STRING, STRING, STRING, STRING, STRING, STRING, STRING, STRING,
+            STRING, STRING, STRING, STRING, STRING, STRING, STRING, STRING);
+
+    /**
+     * The largest number of columns a layout has.
+     */
+    public static final int MAX_COLUMNS = 16;
+
+    private final Class<?> beanType;
+
+    private final ColumnType[] types;
+
+    Layout(final Class<?> beanType, final ColumnType... types) {
+        this.beanType = beanType;
+        this.types = types;
+    }
+
+    /**
+     * @return The bean class the columns map to.
+     */
+    public Class<?> beanType() {
+        return this.beanType;
+    }
+
+    /**
+     * @param columns The number of columns, at most {@link #MAX_COLUMNS}.
+     * @return The names of the first {@code columns} columns.
+     */
+    public String[] labels(final int columns) {
+        final String[] labels = new String[this.check(columns)];
+        for (int i = 0; i < columns; i++) {
+            labels[i] = "c" + (i + 1);
+        }
+        return labels;
+    }
+
+    /**
+     * @param row The row index, starting at 0.
+     * @param columns The number of columns.
+     * @return The values of one row.
+     */
+    public Object[] row(final int row, final int columns) {
+        final Object[] values = new Object[this.check(columns)];
+        for (int i = 0; i < columns; i++) {
+            values[i] = this.types[i].value(row, i + 1);
+        }
+        return values;
+    }
+
+    /**
+     * Builds a result with the first {@code columns} columns of this layout.
+     *
+     * @param rows The number of rows.
+     * @param columns The number of columns.
+     * @return The result, positioned before the first row.
+     */
+    public StubResultSet resultSet(final int rows, final int columns) {
+        final Object[][] data = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            data[i] = this.row(i, columns);
+        }
+        final int[] sqlTypes = new int[this.check(columns)];
+        for (int i = 0; i < columns; i++) {
+            sqlTypes[i] = this.types[i].sqlType();
+        }
+        return new StubResultSet(this.labels(columns), sqlTypes, data);
+    }
+
+    private int check(final int columns) {
+        if (columns < 1 || columns > MAX_COLUMNS) {
+            throw new IllegalArgumentException("columns must be between 1 and " + MAX_COLUMNS);
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,171 @@
+package com.AliceTheCat.benchmarks;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+/**
+ * A bean mixing primitive, text, decimal and timestamp properties.
+ * Property {@code cN} matches column {@code cN} of {@link Layout#MIXED}.
+ */
+public class MixedBean {
+
+    private int c1;
+
+    private long c2;
+
+    private double c3;
+
+    private String c4;
+
+    private BigDecimal c5;
+
+    private boolean c6;
+
+    private Timestamp c7;
+
+    private String c8;
+
+    private int c9;
+
+    private long c10;
+
+    private double c11;
+
+    private String c12;
+
+    private BigDecimal c13;
+
+    private boolean c14;
+
+    private Timestamp c15;
+
+    private String c16;
+
+    public int getC1() {
+        return this.c1;
+    }
+
+    public void setC1(final int c1) {
+        this.c1 = c1;
+    }
+
+    public long getC2() {
+        return this.c2;
+    }
+
+    public void setC2(final long c2) {
+        this.c2 = c2;
+    }
+
+    public double getC3() {
+        return this.c3;
+    }
+
+    public void setC3(final double c3) {
+        this.c3 = c3;
+    }
+
+    public String getC4() {
+        return this.c4;
+    }
+
+    public void setC4(final String c4) {
+        this.c4 = c4;
+    }
+
+    public BigDecimal getC5() {
+        return this.c5;
+    }
+
+    public void setC5(final BigDecimal c5) {
+        this.c5 = c5;
+    }
+
+    public boolean isC6() {
+        return this.c6;
+    }
+
+    public void setC6(final boolean c6) {
+        this.c6 = c6;
+    }
+
+    public Timestamp getC7() {
+        return this.c7;
+    }
+
+    public void setC7(final Timestamp c7) {
+        this.c7 = c7;
+    }
+
+    public String getC8() {
+        return this.c8;
+    }
+
+    public void setC8(final String c8) {
+        this.c8 = c8;
+    }
+
+    public int getC9() {
+        return this.c9;
+    }
+
+    public void setC9(final int c9) {
+        this.c9 = c9;
+    }
+
+    public long getC10() {
+        return this.c10;
+    }
+
+    public void setC10(final long c10) {
+        this.c10 = c10;
+    }
+
+    public double getC11() {
+        return this.c11;
+    }
+
+    public void setC11(final double c11) {
+        this.c11 = c11;
+    }
+
+    public String getC12() {
+        return this.c12;
+    }
+
+    public void setC12(final String c12) {
+        this.c12 = c12;
+    }
+
+    public BigDecimal getC13() {
+        return this.c13;
+    }
+
+    public void setC13(final BigDecimal c13) {
+        this.c13 = c13;
+    }
+
+    public boolean isC14() {
+        return this.c14;
+    }
+
+    public void setC14(final boolean c14) {
+        this.c14 = c14;
+    }
+
+    public Timestamp getC15() {
+        return this.c15;
+    }
+
+    public void setC15(final Timestamp c15) {
+        this.c15 = c15;
+    }
+
+    public String getC16() {
+        return this.c16;
+    }
+
+    public void setC16(final String c16) {
+        this.c16 = c16;
+    }
+}
@@ -0,0 +1,168 @@
+package com.AliceTheCat.benchmarks;
+
+/**
+ * A bean with only primitive numeric properties.
+ * Property {@code cN} matches column {@code cN} of {@link Layout#NUMERIC}.
+ */
+public class NumericBean {
+
+    private int c1;
+
+    private long c2;
+
+    private double c3;
+
+    private int c4;
+
+    private long c5;
+
+    private double c6;
+
+    private int c7;
+
+    private long c8;
+
+    private double c9;
+
+    private int c10;
+
+    private long c11;
+
+    private double c12;
+
+    private int c13;
+
+    private long c14;
+
+    private double c15;
+
+    private long c16;
+
+    public int getC1() {
+        return this.c1;
+    }
+
+    public void setC1(final int c1) {
+        this.c1 = c1;
+    }
+
+    public long getC2() {
+        return this.c2;
+    }
+
+    public void setC2(final long c2) {
+        this.c2 = c2;
+    }
+
+    public double getC3() {
+        return this.c3;
+    }
+
+    public void setC3(final double c3) {
+        this.c3 = c3;
+    }
+
+    public int getC4() {
+        return this.c4;
+    }
+
+    public void setC4(final int c4) {
+        this.c4 = c4;
+    }
+
+    public long getC5() {
+        return this.c5;
+    }
+
+    public void setC5(final long c5) {
+        this.c5 = c5;
+    }
+
+    public double getC6() {
+        return this.c6;
+    }
+
+    public void setC6(final double c6) {
+        this.c6 = c6;
+    }
+
+    public int getC7() {
+        return this.c7;
+    }
+
+    public void setC7(final int c7) {
+        this.c7 = c7;
+    }
+
+    public long getC8() {
+        return this.c8;
+    }
+
+    public void setC8(final long c8) {
+        this.c8 = c8;
+    }
+
+    public double getC9() {
+        return this.c9;
+    }
+
+    public void setC9(final double c9) {
+        this.c9 = c9;
+    }
+
+    public int getC10() {
+        return this.c10;
+    }
+
+    public void setC10(final int c10) {
+        this.c10 = c10;
+    }
+
+    public long getC11() {
+        return this.c11;
+    }
+
+    public void setC11(final long c11) {
+        this.c11 = c11;
+    }
+
+    public double getC12() {
+        return this.c12;
+    }
+
+    public void setC12(final double c12) {
+        this.c12 = c12;
+    }
+
+    public int getC13() {
+        return this.c13;
+    }
+
+    public void setC13(final int c13) {
+        this.c13 = c13;
+    }
+
+    public long getC14() {
+        return this.c14;
+    }
+
+    public void setC14(final long c14) {
+        this.c14 = c14;
+    }
+
+    public double getC15() {
+        return this.c15;
+    }
+
+    public void setC15(final double c15) {
+        this.c15 = c15;
+    }
+
+    public long getC16() {
+        return this.c16;
+    }
+
+    public void setC16(final long c16) {
+        this.c16 = c16;
+    }
+}
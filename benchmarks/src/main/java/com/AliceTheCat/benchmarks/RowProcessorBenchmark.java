@@ -0,0 +1,92 @@
+package com.AliceTheCat.benchmarks;
+
+import com.AliceTheCat.BasicRowProcessor;
+import com.AliceTheCat.RowProcessor;
+import com.AliceTheCat.benchmarks.jdbc.StubResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures converting a whole result with {@link BasicRowProcessor}, one
+ * operation being one pass over all the rows.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RowProcessorBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int rows;
+
+    @Param({"4", "16"})
+    private int columns;
+
+    @Param({"MIXED", "NUMERIC", "TEXT"})
+    private Layout layout;
+
+    private final RowProcessor processor = new BasicRowProcessor();
+
+    private StubResultSet rs;
+
+    private Class<?> beanType;
+
+    @Setup
+    public void setUp() {
+        this.rs = this.layout.resultSet(this.rows, this.columns);
+        this.beanType = this.layout.beanType();
+    }
+
+    @Benchmark
+    public List<?> toBeanList() throws SQLException {
+        this.rs.reset();
+        return this.processor.toBeanList(this.rs, this.beanType);
+    }
+
+    @Benchmark
+    public void toBean(final Blackhole bh) throws SQLException {
+        this.rs.reset();
+        while (this.rs.next()) {
+            bh.consume(this.processor.toBean(this.rs, this.beanType));
+        }
+    }
+
+    @Benchmark
+    public void toArray(final Blackhole bh) throws SQLException {
+        this.rs.reset();
+        while (this.rs.next()) {
+            bh.consume(this.processor.toArray(this.rs));
+        }
+    }
+
+    @Benchmark
+    public void toMap(final Blackhole bh) throws SQLException {
+        this.rs.reset();
+        while (this.rs.next()) {
+            bh.consume(this.processor.toMap(this.rs));
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> toMapList() throws SQLException {
+        this.rs.reset();
+        return this.processor.toMapList(this.rs);
+    }
+}
@@ -0,0 +1,168 @@
+package com.AliceTheCat.benchmarks;
+
+/**
+ * A bean with only {@code String} properties.
+ * Property {@code cN} matches column {@code cN} of {@link Layout#TEXT}.
+ */
+public class TextBean {
+
+    private String c1;
+
+    private String c2;
+
+    private String c3;
+
+    private String c4;
+
+    private String c5;
+
+    private String c6;
+
+    private String c7;
+
+    private String c8;
+
+    private String c9;
+
+    private String c10;
+
+    private String c11;
+
+    private String c12;
+
+    private String c13;
+
+    private String c14;
+
+    private String c15;
+
+    private String c16;
+
+    public String getC1() {
+        return this.c1;
+    }
+
+    public void setC1(final String c1) {
+        this.c1 = c1;
+    }
+
+    public String getC2() {
+        return this.c2;
+    }
+
+    public void setC2(final String c2) {
+        this.c2 = c2;
+    }
+
+    public String getC3() {
+        return this.c3;
+    }
+
+    public void setC3(final String c3) {
+        this.c3 = c3;
+    }
+
+    public String getC4() {
+        return this.c4;
+    }
+
+    public void setC4(final String c4) {
+        this.c4 = c4;
+    }
+
+    public String getC5() {
+        return this.c5;
+    }
+
+    public void setC5(final String c5) {
+        this.c5 = c5;
+    }
+
+    public String getC6() {
+        return this.c6;
+    }
+
+    public void setC6(final String c6) {
+        this.c6 = c6;
+    }
+
+    public String getC7() {
+        return this.c7;
+    }
+
+    public void setC7(final String c7) {
+        this.c7 = c7;
+    }
+
+    public String getC8() {
+        return this.c8;
+    }
+
+    public void setC8(final String c8) {
+        this.c8 = c8;
+    }
+
+    public String getC9() {
+        return this.c9;
+    }
+
+    public void setC9(final String c9) {
+        this.c9 = c9;
+    }
+
+    public String getC10() {
+        return this.c10;
+    }
+
+    public void setC10(final String c10) {
+        this.c10 = c10;
+    }
+
+    public String getC11() {
+        return this.c11;
+    }
+
+    public void setC11(final String c11) {
+        this.c11 = c11;
+    }
+
+    public String getC12() {
+        return this.c12;
+    }
+
+    public void setC12(final String c12) {
+        this.c12 = c12;
+    }
+
+    public String getC13() {
+        return this.c13;
+    }
+
+    public void setC13(final String c13) {
+        this.c13 = c13;
+    }
+
+    public String getC14() {
+        return this.c14;
+    }
+
+    public void setC14(final String c14) {
+        this.c14 = c14;
+    }
+
+    public String getC15() {
+        return this.c15;
+    }
+
+    public void setC15(final String c15) {
+        this.c15 = c15;
+    }
+
+    public String getC16() {
+        return this.c16;
+    }
+
+    public void setC16(final String c16) {
+        this.c16 = c16;
+    }
+}
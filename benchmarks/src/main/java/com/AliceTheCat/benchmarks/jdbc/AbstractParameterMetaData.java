@@ -0,0 +1,68 @@
+package com.AliceTheCat.benchmarks.jdbc;
+
+import java.sql.ParameterMetaData;
+import java.sql.SQLException;
+
+/**
+ * A {@code ParameterMetaData} whose every method throws
+ * {@code UnsupportedOperationException}.  The stubs extend it and only
+ * implement what the library calls, without the per-call allocation of a
+ * dynamic proxy.
+ */
+public abstract class AbstractParameterMetaData implements ParameterMetaData {
+
+    @Override
+    public String getParameterClassName(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getParameterClassName");
+    }
+
+    @Override
+    public int getParameterCount() throws SQLException {
+        throw new UnsupportedOperationException("getParameterCount");
+    }
+
+    @Override
+    public int getParameterMode(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getParameterMode");
+    }
+
+    @Override
+    public int getParameterType(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getParameterType");
+    }
+
+    @Override
+    public String getParameterTypeName(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getParameterTypeName");
+    }
+
+    @Override
+    public int getPrecision(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getPrecision");
+    }
+
+    @Override
+    public int getScale(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getScale");
+    }
+
+    @Override
+    public int isNullable(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("isNullable");
+    }
+
+    @Override
+    public boolean isSigned(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("isSigned");
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> arg0) throws SQLException {
+        throw new UnsupportedOperationException("isWrapperFor");
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> arg0) throws SQLException {
+        throw new UnsupportedOperationException("unwrap");
+    }
+}
@@ -0,0 +1,529 @@
+package com.AliceTheCat.benchmarks.jdbc;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+/**
+ * A {@code PreparedStatement} whose every method throws
+ * {@code UnsupportedOperationException}.  The stubs extend it and only
+ * implement what the library calls, without the per-call allocation of a
+ * dynamic proxy.
+ */
+@SuppressWarnings("deprecation")
+public abstract class AbstractPreparedStatement implements PreparedStatement {
+
+    @Override
+    public void addBatch() throws SQLException {
+        throw new UnsupportedOperationException("addBatch");
+    }
+
+    @Override
+    public void addBatch(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("addBatch");
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        throw new UnsupportedOperationException("cancel");
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        throw new UnsupportedOperationException("clearBatch");
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        throw new UnsupportedOperationException("clearParameters");
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        throw new UnsupportedOperationException("clearWarnings");
+    }
+
+    @Override
+    public void close() throws SQLException {
+        throw new UnsupportedOperationException("close");
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        throw new UnsupportedOperationException("closeOnCompletion");
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        throw new UnsupportedOperationException("execute");
+    }
+
+    @Override
+    public boolean execute(final String arg0, final int[] arg1) throws SQLException {
+        throw new UnsupportedOperationException("execute");
+    }
+
+    @Override
+    public boolean execute(final String arg0, final String[] arg1) throws SQLException {
+        throw new UnsupportedOperationException("execute");
+    }
+
+    @Override
+    public boolean execute(final String arg0, final int arg1) throws SQLException {
+        throw new UnsupportedOperationException("execute");
+    }
+
+    @Override
+    public boolean execute(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("execute");
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        throw new UnsupportedOperationException("executeBatch");
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        throw new UnsupportedOperationException("executeQuery");
+    }
+
+    @Override
+    public ResultSet executeQuery(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("executeQuery");
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        throw new UnsupportedOperationException("executeUpdate");
+    }
+
+    @Override
+    public int executeUpdate(final String arg0, final int[] arg1) throws SQLException {
+        throw new UnsupportedOperationException("executeUpdate");
+    }
+
+    @Override
+    public int executeUpdate(final String arg0, final String[] arg1) throws SQLException {
+        throw new UnsupportedOperationException("executeUpdate");
+    }
+
+    @Override
+    public int executeUpdate(final String arg0, final int arg1) throws SQLException {
+        throw new UnsupportedOperationException("executeUpdate");
+    }
+
+    @Override
+    public int executeUpdate(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("executeUpdate");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        throw new UnsupportedOperationException("getConnection");
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        throw new UnsupportedOperationException("getFetchDirection");
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        throw new UnsupportedOperationException("getFetchSize");
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        throw new UnsupportedOperationException("getGeneratedKeys");
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        throw new UnsupportedOperationException("getMaxFieldSize");
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        throw new UnsupportedOperationException("getMaxRows");
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        throw new UnsupportedOperationException("getMetaData");
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        throw new UnsupportedOperationException("getMoreResults");
+    }
+
+    @Override
+    public boolean getMoreResults(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getMoreResults");
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        throw new UnsupportedOperationException("getParameterMetaData");
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        throw new UnsupportedOperationException("getQueryTimeout");
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        throw new UnsupportedOperationException("getResultSet");
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        throw new UnsupportedOperationException("getResultSetConcurrency");
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        throw new UnsupportedOperationException("getResultSetHoldability");
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        throw new UnsupportedOperationException("getResultSetType");
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        throw new UnsupportedOperationException("getUpdateCount");
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        throw new UnsupportedOperationException("getWarnings");
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        throw new UnsupportedOperationException("isCloseOnCompletion");
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        throw new UnsupportedOperationException("isClosed");
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        throw new UnsupportedOperationException("isPoolable");
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> arg0) throws SQLException {
+        throw new UnsupportedOperationException("isWrapperFor");
+    }
+
+    @Override
+    public void setArray(final int arg0, final Array arg1) throws SQLException {
+        throw new UnsupportedOperationException("setArray");
+    }
+
+    @Override
+    public void setAsciiStream(final int arg0, final InputStream arg1, final int arg2) throws SQLException {
+        throw new UnsupportedOperationException("setAsciiStream");
+    }
+
+    @Override
+    public void setAsciiStream(final int arg0, final InputStream arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("setAsciiStream");
+    }
+
+    @Override
+    public void setAsciiStream(final int arg0, final InputStream arg1) throws SQLException {
+        throw new UnsupportedOperationException("setAsciiStream");
+    }
+
+    @Override
+    public void setBigDecimal(final int arg0, final BigDecimal arg1) throws SQLException {
+        throw new UnsupportedOperationException("setBigDecimal");
+    }
+
+    @Override
+    public void setBinaryStream(final int arg0, final InputStream arg1, final int arg2) throws SQLException {
+        throw new UnsupportedOperationException("setBinaryStream");
+    }
+
+    @Override
+    public void setBinaryStream(final int arg0, final InputStream arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("setBinaryStream");
+    }
+
+    @Override
+    public void setBinaryStream(final int arg0, final InputStream arg1) throws SQLException {
+        throw new UnsupportedOperationException("setBinaryStream");
+    }
+
+    @Override
+    public void setBlob(final int arg0, final InputStream arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("setBlob");
+    }
+
+    @Override
+    public void setBlob(final int arg0, final InputStream arg1) throws SQLException {
+        throw new UnsupportedOperationException("setBlob");
+    }
+
+    @Override
+    public void setBlob(final int arg0, final Blob arg1) throws SQLException {
+        throw new UnsupportedOperationException("setBlob");
+    }
+
+    @Override
+    public void setBoolean(final int arg0, final boolean arg1) throws SQLException {
+        throw new UnsupportedOperationException("setBoolean");
+    }
+
+    @Override
+    public void setByte(final int arg0, final byte arg1) throws SQLException {
+        throw new UnsupportedOperationException("setByte");
+    }
+
+    @Override
+    public void setBytes(final int arg0, final byte[] arg1) throws SQLException {
+        throw new UnsupportedOperationException("setBytes");
+    }
+
+    @Override
+    public void setCharacterStream(final int arg0, final Reader arg1, final int arg2) throws SQLException {
+        throw new UnsupportedOperationException("setCharacterStream");
+    }
+
+    @Override
+    public void setCharacterStream(final int arg0, final Reader arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("setCharacterStream");
+    }
+
+    @Override
+    public void setCharacterStream(final int arg0, final Reader arg1) throws SQLException {
+        throw new UnsupportedOperationException("setCharacterStream");
+    }
+
+    @Override
+    public void setClob(final int arg0, final Reader arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("setClob");
+    }
+
+    @Override
+    public void setClob(final int arg0, final Reader arg1) throws SQLException {
+        throw new UnsupportedOperationException("setClob");
+    }
+
+    @Override
+    public void setClob(final int arg0, final Clob arg1) throws SQLException {
+        throw new UnsupportedOperationException("setClob");
+    }
+
+    @Override
+    public void setCursorName(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("setCursorName");
+    }
+
+    @Override
+    public void setDate(final int arg0, final Date arg1, final Calendar arg2) throws SQLException {
+        throw new UnsupportedOperationException("setDate");
+    }
+
+    @Override
+    public void setDate(final int arg0, final Date arg1) throws SQLException {
+        throw new UnsupportedOperationException("setDate");
+    }
+
+    @Override
+    public void setDouble(final int arg0, final double arg1) throws SQLException {
+        throw new UnsupportedOperationException("setDouble");
+    }
+
+    @Override
+    public void setEscapeProcessing(final boolean arg0) throws SQLException {
+        throw new UnsupportedOperationException("setEscapeProcessing");
+    }
+
+    @Override
+    public void setFetchDirection(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("setFetchDirection");
+    }
+
+    @Override
+    public void setFetchSize(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("setFetchSize");
+    }
+
+    @Override
+    public void setFloat(final int arg0, final float arg1) throws SQLException {
+        throw new UnsupportedOperationException("setFloat");
+    }
+
+    @Override
+    public void setInt(final int arg0, final int arg1) throws SQLException {
+        throw new UnsupportedOperationException("setInt");
+    }
+
+    @Override
+    public void setLong(final int arg0, final long arg1) throws SQLException {
+        throw new UnsupportedOperationException("setLong");
+    }
+
+    @Override
+    public void setMaxFieldSize(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("setMaxFieldSize");
+    }
+
+    @Override
+    public void setMaxRows(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("setMaxRows");
+    }
+
+    @Override
+    public void setNCharacterStream(final int arg0, final Reader arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("setNCharacterStream");
+    }
+
+    @Override
+    public void setNCharacterStream(final int arg0, final Reader arg1) throws SQLException {
+        throw new UnsupportedOperationException("setNCharacterStream");
+    }
+
+    @Override
+    public void setNClob(final int arg0, final Reader arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("setNClob");
+    }
+
+    @Override
+    public void setNClob(final int arg0, final Reader arg1) throws SQLException {
+        throw new UnsupportedOperationException("setNClob");
+    }
+
+    @Override
+    public void setNClob(final int arg0, final NClob arg1) throws SQLException {
+        throw new UnsupportedOperationException("setNClob");
+    }
+
+    @Override
+    public void setNString(final int arg0, final String arg1) throws SQLException {
+        throw new UnsupportedOperationException("setNString");
+    }
+
+    @Override
+    public void setNull(final int arg0, final int arg1, final String arg2) throws SQLException {
+        throw new UnsupportedOperationException("setNull");
+    }
+
+    @Override
+    public void setNull(final int arg0, final int arg1) throws SQLException {
+        throw new UnsupportedOperationException("setNull");
+    }
+
+    @Override
+    public void setObject(final int arg0, final Object arg1, final int arg2, final int arg3) throws SQLException {
+        throw new UnsupportedOperationException("setObject");
+    }
+
+    @Override
+    public void setObject(final int arg0, final Object arg1, final int arg2) throws SQLException {
+        throw new UnsupportedOperationException("setObject");
+    }
+
+    @Override
+    public void setObject(final int arg0, final Object arg1) throws SQLException {
+        throw new UnsupportedOperationException("setObject");
+    }
+
+    @Override
+    public void setPoolable(final boolean arg0) throws SQLException {
+        throw new UnsupportedOperationException("setPoolable");
+    }
+
+    @Override
+    public void setQueryTimeout(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("setQueryTimeout");
+    }
+
+    @Override
+    public void setRef(final int arg0, final Ref arg1) throws SQLException {
+        throw new UnsupportedOperationException("setRef");
+    }
+
+    @Override
+    public void setRowId(final int arg0, final RowId arg1) throws SQLException {
+        throw new UnsupportedOperationException("setRowId");
+    }
+
+    @Override
+    public void setSQLXML(final int arg0, final SQLXML arg1) throws SQLException {
+        throw new UnsupportedOperationException("setSQLXML");
+    }
+
+    @Override
+    public void setShort(final int arg0, final short arg1) throws SQLException {
+        throw new UnsupportedOperationException("setShort");
+    }
+
+    @Override
+    public void setString(final int arg0, final String arg1) throws SQLException {
+        throw new UnsupportedOperationException("setString");
+    }
+
+    @Override
+    public void setTime(final int arg0, final Time arg1, final Calendar arg2) throws SQLException {
+        throw new UnsupportedOperationException("setTime");
+    }
+
+    @Override
+    public void setTime(final int arg0, final Time arg1) throws SQLException {
+        throw new UnsupportedOperationException("setTime");
+    }
+
+    @Override
+    public void setTimestamp(final int arg0, final Timestamp arg1, final Calendar arg2) throws SQLException {
+        throw new UnsupportedOperationException("setTimestamp");
+    }
+
+    @Override
+    public void setTimestamp(final int arg0, final Timestamp arg1) throws SQLException {
+        throw new UnsupportedOperationException("setTimestamp");
+    }
+
+    @Override
+    public void setURL(final int arg0, final URL arg1) throws SQLException {
+        throw new UnsupportedOperationException("setURL");
+    }
+
+    @Override
+    public void setUnicodeStream(final int arg0, final InputStream arg1, final int arg2) throws SQLException {
+        throw new UnsupportedOperationException("setUnicodeStream");
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> arg0) throws SQLException {
+        throw new UnsupportedOperationException("unwrap");
+    }
+}
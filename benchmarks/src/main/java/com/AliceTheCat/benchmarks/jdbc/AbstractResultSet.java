@@ -0,0 +1,988 @@
+package com.AliceTheCat.benchmarks.jdbc;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * A {@code ResultSet} whose every method throws
+ * {@code UnsupportedOperationException}.  The stubs extend it and only
+ * implement what the library calls, without the per-call allocation of a
+ * dynamic proxy.
+ */
+@SuppressWarnings("deprecation")
+public abstract class AbstractResultSet implements ResultSet {
+
+    @Override
+    public boolean absolute(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("absolute");
+    }
+
+    @Override
+    public void afterLast() throws SQLException {
+        throw new UnsupportedOperationException("afterLast");
+    }
+
+    @Override
+    public void beforeFirst() throws SQLException {
+        throw new UnsupportedOperationException("beforeFirst");
+    }
+
+    @Override
+    public void cancelRowUpdates() throws SQLException {
+        throw new UnsupportedOperationException("cancelRowUpdates");
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        throw new UnsupportedOperationException("clearWarnings");
+    }
+
+    @Override
+    public void close() throws SQLException {
+        throw new UnsupportedOperationException("close");
+    }
+
+    @Override
+    public void deleteRow() throws SQLException {
+        throw new UnsupportedOperationException("deleteRow");
+    }
+
+    @Override
+    public int findColumn(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("findColumn");
+    }
+
+    @Override
+    public boolean first() throws SQLException {
+        throw new UnsupportedOperationException("first");
+    }
+
+    @Override
+    public Array getArray(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getArray");
+    }
+
+    @Override
+    public Array getArray(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getArray");
+    }
+
+    @Override
+    public InputStream getAsciiStream(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getAsciiStream");
+    }
+
+    @Override
+    public InputStream getAsciiStream(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getAsciiStream");
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(final String arg0, final int arg1) throws SQLException {
+        throw new UnsupportedOperationException("getBigDecimal");
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getBigDecimal");
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(final int arg0, final int arg1) throws SQLException {
+        throw new UnsupportedOperationException("getBigDecimal");
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getBigDecimal");
+    }
+
+    @Override
+    public InputStream getBinaryStream(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getBinaryStream");
+    }
+
+    @Override
+    public InputStream getBinaryStream(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getBinaryStream");
+    }
+
+    @Override
+    public Blob getBlob(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getBlob");
+    }
+
+    @Override
+    public Blob getBlob(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getBlob");
+    }
+
+    @Override
+    public boolean getBoolean(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getBoolean");
+    }
+
+    @Override
+    public boolean getBoolean(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getBoolean");
+    }
+
+    @Override
+    public byte getByte(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getByte");
+    }
+
+    @Override
+    public byte getByte(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getByte");
+    }
+
+    @Override
+    public byte[] getBytes(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getBytes");
+    }
+
+    @Override
+    public byte[] getBytes(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getBytes");
+    }
+
+    @Override
+    public Reader getCharacterStream(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getCharacterStream");
+    }
+
+    @Override
+    public Reader getCharacterStream(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getCharacterStream");
+    }
+
+    @Override
+    public Clob getClob(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getClob");
+    }
+
+    @Override
+    public Clob getClob(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getClob");
+    }
+
+    @Override
+    public int getConcurrency() throws SQLException {
+        throw new UnsupportedOperationException("getConcurrency");
+    }
+
+    @Override
+    public String getCursorName() throws SQLException {
+        throw new UnsupportedOperationException("getCursorName");
+    }
+
+    @Override
+    public Date getDate(final String arg0, final Calendar arg1) throws SQLException {
+        throw new UnsupportedOperationException("getDate");
+    }
+
+    @Override
+    public Date getDate(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getDate");
+    }
+
+    @Override
+    public Date getDate(final int arg0, final Calendar arg1) throws SQLException {
+        throw new UnsupportedOperationException("getDate");
+    }
+
+    @Override
+    public Date getDate(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getDate");
+    }
+
+    @Override
+    public double getDouble(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getDouble");
+    }
+
+    @Override
+    public double getDouble(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getDouble");
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        throw new UnsupportedOperationException("getFetchDirection");
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        throw new UnsupportedOperationException("getFetchSize");
+    }
+
+    @Override
+    public float getFloat(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getFloat");
+    }
+
+    @Override
+    public float getFloat(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getFloat");
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        throw new UnsupportedOperationException("getHoldability");
+    }
+
+    @Override
+    public int getInt(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getInt");
+    }
+
+    @Override
+    public int getInt(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getInt");
+    }
+
+    @Override
+    public long getLong(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getLong");
+    }
+
+    @Override
+    public long getLong(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getLong");
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        throw new UnsupportedOperationException("getMetaData");
+    }
+
+    @Override
+    public Reader getNCharacterStream(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getNCharacterStream");
+    }
+
+    @Override
+    public Reader getNCharacterStream(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getNCharacterStream");
+    }
+
+    @Override
+    public NClob getNClob(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getNClob");
+    }
+
+    @Override
+    public NClob getNClob(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getNClob");
+    }
+
+    @Override
+    public String getNString(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getNString");
+    }
+
+    @Override
+    public String getNString(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getNString");
+    }
+
+    @Override
+    public <T> T getObject(final String arg0, final Class<T> arg1) throws SQLException {
+        throw new UnsupportedOperationException("getObject");
+    }
+
+    @Override
+    public Object getObject(final String arg0, final Map<String, Class<?>> arg1) throws SQLException {
+        throw new UnsupportedOperationException("getObject");
+    }
+
+    @Override
+    public Object getObject(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getObject");
+    }
+
+    @Override
+    public <T> T getObject(final int arg0, final Class<T> arg1) throws SQLException {
+        throw new UnsupportedOperationException("getObject");
+    }
+
+    @Override
+    public Object getObject(final int arg0, final Map<String, Class<?>> arg1) throws SQLException {
+        throw new UnsupportedOperationException("getObject");
+    }
+
+    @Override
+    public Object getObject(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getObject");
+    }
+
+    @Override
+    public Ref getRef(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getRef");
+    }
+
+    @Override
+    public Ref getRef(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getRef");
+    }
+
+    @Override
+    public int getRow() throws SQLException {
+        throw new UnsupportedOperationException("getRow");
+    }
+
+    @Override
+    public RowId getRowId(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getRowId");
+    }
+
+    @Override
+    public RowId getRowId(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getRowId");
+    }
+
+    @Override
+    public SQLXML getSQLXML(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getSQLXML");
+    }
+
+    @Override
+    public SQLXML getSQLXML(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getSQLXML");
+    }
+
+    @Override
+    public short getShort(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getShort");
+    }
+
+    @Override
+    public short getShort(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getShort");
+    }
+
+    @Override
+    public Statement getStatement() throws SQLException {
+        throw new UnsupportedOperationException("getStatement");
+    }
+
+    @Override
+    public String getString(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getString");
+    }
+
+    @Override
+    public String getString(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getString");
+    }
+
+    @Override
+    public Time getTime(final String arg0, final Calendar arg1) throws SQLException {
+        throw new UnsupportedOperationException("getTime");
+    }
+
+    @Override
+    public Time getTime(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getTime");
+    }
+
+    @Override
+    public Time getTime(final int arg0, final Calendar arg1) throws SQLException {
+        throw new UnsupportedOperationException("getTime");
+    }
+
+    @Override
+    public Time getTime(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getTime");
+    }
+
+    @Override
+    public Timestamp getTimestamp(final String arg0, final Calendar arg1) throws SQLException {
+        throw new UnsupportedOperationException("getTimestamp");
+    }
+
+    @Override
+    public Timestamp getTimestamp(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getTimestamp");
+    }
+
+    @Override
+    public Timestamp getTimestamp(final int arg0, final Calendar arg1) throws SQLException {
+        throw new UnsupportedOperationException("getTimestamp");
+    }
+
+    @Override
+    public Timestamp getTimestamp(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getTimestamp");
+    }
+
+    @Override
+    public int getType() throws SQLException {
+        throw new UnsupportedOperationException("getType");
+    }
+
+    @Override
+    public URL getURL(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getURL");
+    }
+
+    @Override
+    public URL getURL(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getURL");
+    }
+
+    @Override
+    public InputStream getUnicodeStream(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("getUnicodeStream");
+    }
+
+    @Override
+    public InputStream getUnicodeStream(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getUnicodeStream");
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        throw new UnsupportedOperationException("getWarnings");
+    }
+
+    @Override
+    public void insertRow() throws SQLException {
+        throw new UnsupportedOperationException("insertRow");
+    }
+
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        throw new UnsupportedOperationException("isAfterLast");
+    }
+
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        throw new UnsupportedOperationException("isBeforeFirst");
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        throw new UnsupportedOperationException("isClosed");
+    }
+
+    @Override
+    public boolean isFirst() throws SQLException {
+        throw new UnsupportedOperationException("isFirst");
+    }
+
+    @Override
+    public boolean isLast() throws SQLException {
+        throw new UnsupportedOperationException("isLast");
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> arg0) throws SQLException {
+        throw new UnsupportedOperationException("isWrapperFor");
+    }
+
+    @Override
+    public boolean last() throws SQLException {
+        throw new UnsupportedOperationException("last");
+    }
+
+    @Override
+    public void moveToCurrentRow() throws SQLException {
+        throw new UnsupportedOperationException("moveToCurrentRow");
+    }
+
+    @Override
+    public void moveToInsertRow() throws SQLException {
+        throw new UnsupportedOperationException("moveToInsertRow");
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        throw new UnsupportedOperationException("next");
+    }
+
+    @Override
+    public boolean previous() throws SQLException {
+        throw new UnsupportedOperationException("previous");
+    }
+
+    @Override
+    public void refreshRow() throws SQLException {
+        throw new UnsupportedOperationException("refreshRow");
+    }
+
+    @Override
+    public boolean relative(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("relative");
+    }
+
+    @Override
+    public boolean rowDeleted() throws SQLException {
+        throw new UnsupportedOperationException("rowDeleted");
+    }
+
+    @Override
+    public boolean rowInserted() throws SQLException {
+        throw new UnsupportedOperationException("rowInserted");
+    }
+
+    @Override
+    public boolean rowUpdated() throws SQLException {
+        throw new UnsupportedOperationException("rowUpdated");
+    }
+
+    @Override
+    public void setFetchDirection(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("setFetchDirection");
+    }
+
+    @Override
+    public void setFetchSize(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("setFetchSize");
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> arg0) throws SQLException {
+        throw new UnsupportedOperationException("unwrap");
+    }
+
+    @Override
+    public void updateArray(final String arg0, final Array arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateArray");
+    }
+
+    @Override
+    public void updateArray(final int arg0, final Array arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateArray");
+    }
+
+    @Override
+    public void updateAsciiStream(final String arg0, final InputStream arg1, final int arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateAsciiStream");
+    }
+
+    @Override
+    public void updateAsciiStream(final String arg0, final InputStream arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateAsciiStream");
+    }
+
+    @Override
+    public void updateAsciiStream(final String arg0, final InputStream arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateAsciiStream");
+    }
+
+    @Override
+    public void updateAsciiStream(final int arg0, final InputStream arg1, final int arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateAsciiStream");
+    }
+
+    @Override
+    public void updateAsciiStream(final int arg0, final InputStream arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateAsciiStream");
+    }
+
+    @Override
+    public void updateAsciiStream(final int arg0, final InputStream arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateAsciiStream");
+    }
+
+    @Override
+    public void updateBigDecimal(final String arg0, final BigDecimal arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateBigDecimal");
+    }
+
+    @Override
+    public void updateBigDecimal(final int arg0, final BigDecimal arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateBigDecimal");
+    }
+
+    @Override
+    public void updateBinaryStream(final String arg0, final InputStream arg1, final int arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateBinaryStream");
+    }
+
+    @Override
+    public void updateBinaryStream(final String arg0, final InputStream arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateBinaryStream");
+    }
+
+    @Override
+    public void updateBinaryStream(final String arg0, final InputStream arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateBinaryStream");
+    }
+
+    @Override
+    public void updateBinaryStream(final int arg0, final InputStream arg1, final int arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateBinaryStream");
+    }
+
+    @Override
+    public void updateBinaryStream(final int arg0, final InputStream arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateBinaryStream");
+    }
+
+    @Override
+    public void updateBinaryStream(final int arg0, final InputStream arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateBinaryStream");
+    }
+
+    @Override
+    public void updateBlob(final String arg0, final InputStream arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateBlob");
+    }
+
+    @Override
+    public void updateBlob(final String arg0, final InputStream arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateBlob");
+    }
+
+    @Override
+    public void updateBlob(final String arg0, final Blob arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateBlob");
+    }
+
+    @Override
+    public void updateBlob(final int arg0, final InputStream arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateBlob");
+    }
+
+    @Override
+    public void updateBlob(final int arg0, final InputStream arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateBlob");
+    }
+
+    @Override
+    public void updateBlob(final int arg0, final Blob arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateBlob");
+    }
+
+    @Override
+    public void updateBoolean(final String arg0, final boolean arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateBoolean");
+    }
+
+    @Override
+    public void updateBoolean(final int arg0, final boolean arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateBoolean");
+    }
+
+    @Override
+    public void updateByte(final String arg0, final byte arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateByte");
+    }
+
+    @Override
+    public void updateByte(final int arg0, final byte arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateByte");
+    }
+
+    @Override
+    public void updateBytes(final String arg0, final byte[] arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateBytes");
+    }
+
+    @Override
+    public void updateBytes(final int arg0, final byte[] arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateBytes");
+    }
+
+    @Override
+    public void updateCharacterStream(final String arg0, final Reader arg1, final int arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateCharacterStream");
+    }
+
+    @Override
+    public void updateCharacterStream(final String arg0, final Reader arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateCharacterStream");
+    }
+
+    @Override
+    public void updateCharacterStream(final String arg0, final Reader arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateCharacterStream");
+    }
+
+    @Override
+    public void updateCharacterStream(final int arg0, final Reader arg1, final int arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateCharacterStream");
+    }
+
+    @Override
+    public void updateCharacterStream(final int arg0, final Reader arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateCharacterStream");
+    }
+
+    @Override
+    public void updateCharacterStream(final int arg0, final Reader arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateCharacterStream");
+    }
+
+    @Override
+    public void updateClob(final String arg0, final Reader arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateClob");
+    }
+
+    @Override
+    public void updateClob(final String arg0, final Reader arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateClob");
+    }
+
+    @Override
+    public void updateClob(final String arg0, final Clob arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateClob");
+    }
+
+    @Override
+    public void updateClob(final int arg0, final Reader arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateClob");
+    }
+
+    @Override
+    public void updateClob(final int arg0, final Reader arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateClob");
+    }
+
+    @Override
+    public void updateClob(final int arg0, final Clob arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateClob");
+    }
+
+    @Override
+    public void updateDate(final String arg0, final Date arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateDate");
+    }
+
+    @Override
+    public void updateDate(final int arg0, final Date arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateDate");
+    }
+
+    @Override
+    public void updateDouble(final String arg0, final double arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateDouble");
+    }
+
+    @Override
+    public void updateDouble(final int arg0, final double arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateDouble");
+    }
+
+    @Override
+    public void updateFloat(final String arg0, final float arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateFloat");
+    }
+
+    @Override
+    public void updateFloat(final int arg0, final float arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateFloat");
+    }
+
+    @Override
+    public void updateInt(final String arg0, final int arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateInt");
+    }
+
+    @Override
+    public void updateInt(final int arg0, final int arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateInt");
+    }
+
+    @Override
+    public void updateLong(final String arg0, final long arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateLong");
+    }
+
+    @Override
+    public void updateLong(final int arg0, final long arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateLong");
+    }
+
+    @Override
+    public void updateNCharacterStream(final String arg0, final Reader arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateNCharacterStream");
+    }
+
+    @Override
+    public void updateNCharacterStream(final String arg0, final Reader arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateNCharacterStream");
+    }
+
+    @Override
+    public void updateNCharacterStream(final int arg0, final Reader arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateNCharacterStream");
+    }
+
+    @Override
+    public void updateNCharacterStream(final int arg0, final Reader arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateNCharacterStream");
+    }
+
+    @Override
+    public void updateNClob(final String arg0, final Reader arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateNClob");
+    }
+
+    @Override
+    public void updateNClob(final String arg0, final Reader arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateNClob");
+    }
+
+    @Override
+    public void updateNClob(final String arg0, final NClob arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateNClob");
+    }
+
+    @Override
+    public void updateNClob(final int arg0, final Reader arg1, final long arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateNClob");
+    }
+
+    @Override
+    public void updateNClob(final int arg0, final Reader arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateNClob");
+    }
+
+    @Override
+    public void updateNClob(final int arg0, final NClob arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateNClob");
+    }
+
+    @Override
+    public void updateNString(final String arg0, final String arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateNString");
+    }
+
+    @Override
+    public void updateNString(final int arg0, final String arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateNString");
+    }
+
+    @Override
+    public void updateNull(final String arg0) throws SQLException {
+        throw new UnsupportedOperationException("updateNull");
+    }
+
+    @Override
+    public void updateNull(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("updateNull");
+    }
+
+    @Override
+    public void updateObject(final String arg0, final Object arg1, final int arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateObject");
+    }
+
+    @Override
+    public void updateObject(final String arg0, final Object arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateObject");
+    }
+
+    @Override
+    public void updateObject(final int arg0, final Object arg1, final int arg2) throws SQLException {
+        throw new UnsupportedOperationException("updateObject");
+    }
+
+    @Override
+    public void updateObject(final int arg0, final Object arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateObject");
+    }
+
+    @Override
+    public void updateRef(final String arg0, final Ref arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateRef");
+    }
+
+    @Override
+    public void updateRef(final int arg0, final Ref arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateRef");
+    }
+
+    @Override
+    public void updateRow() throws SQLException {
+        throw new UnsupportedOperationException("updateRow");
+    }
+
+    @Override
+    public void updateRowId(final String arg0, final RowId arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateRowId");
+    }
+
+    @Override
+    public void updateRowId(final int arg0, final RowId arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateRowId");
+    }
+
+    @Override
+    public void updateSQLXML(final String arg0, final SQLXML arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateSQLXML");
+    }
+
+    @Override
+    public void updateSQLXML(final int arg0, final SQLXML arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateSQLXML");
+    }
+
+    @Override
+    public void updateShort(final String arg0, final short arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateShort");
+    }
+
+    @Override
+    public void updateShort(final int arg0, final short arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateShort");
+    }
+
+    @Override
+    public void updateString(final String arg0, final String arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateString");
+    }
+
+    @Override
+    public void updateString(final int arg0, final String arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateString");
+    }
+
+    @Override
+    public void updateTime(final String arg0, final Time arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateTime");
+    }
+
+    @Override
+    public void updateTime(final int arg0, final Time arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateTime");
+    }
+
+    @Override
+    public void updateTimestamp(final String arg0, final Timestamp arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateTimestamp");
+    }
+
+    @Override
+    public void updateTimestamp(final int arg0, final Timestamp arg1) throws SQLException {
+        throw new UnsupportedOperationException("updateTimestamp");
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        throw new UnsupportedOperationException("wasNull");
+    }
+}
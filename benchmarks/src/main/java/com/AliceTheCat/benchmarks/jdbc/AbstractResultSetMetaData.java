@@ -0,0 +1,128 @@
+package com.AliceTheCat.benchmarks.jdbc;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * A {@code ResultSetMetaData} whose every method throws
+ * {@code UnsupportedOperationException}.  The stubs extend it and only
+ * implement what the library calls, without the per-call allocation of a
+ * dynamic proxy.
+ */
+public abstract class AbstractResultSetMetaData implements ResultSetMetaData {
+
+    @Override
+    public String getCatalogName(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getCatalogName");
+    }
+
+    @Override
+    public String getColumnClassName(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getColumnClassName");
+    }
+
+    @Override
+    public int getColumnCount() throws SQLException {
+        throw new UnsupportedOperationException("getColumnCount");
+    }
+
+    @Override
+    public int getColumnDisplaySize(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getColumnDisplaySize");
+    }
+
+    @Override
+    public String getColumnLabel(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getColumnLabel");
+    }
+
+    @Override
+    public String getColumnName(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getColumnName");
+    }
+
+    @Override
+    public int getColumnType(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getColumnType");
+    }
+
+    @Override
+    public String getColumnTypeName(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getColumnTypeName");
+    }
+
+    @Override
+    public int getPrecision(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getPrecision");
+    }
+
+    @Override
+    public int getScale(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getScale");
+    }
+
+    @Override
+    public String getSchemaName(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getSchemaName");
+    }
+
+    @Override
+    public String getTableName(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("getTableName");
+    }
+
+    @Override
+    public boolean isAutoIncrement(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("isAutoIncrement");
+    }
+
+    @Override
+    public boolean isCaseSensitive(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("isCaseSensitive");
+    }
+
+    @Override
+    public boolean isCurrency(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("isCurrency");
+    }
+
+    @Override
+    public boolean isDefinitelyWritable(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("isDefinitelyWritable");
+    }
+
+    @Override
+    public int isNullable(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("isNullable");
+    }
+
+    @Override
+    public boolean isReadOnly(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("isReadOnly");
+    }
+
+    @Override
+    public boolean isSearchable(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("isSearchable");
+    }
+
+    @Override
+    public boolean isSigned(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("isSigned");
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> arg0) throws SQLException {
+        throw new UnsupportedOperationException("isWrapperFor");
+    }
+
+    @Override
+    public boolean isWritable(final int arg0) throws SQLException {
+        throw new UnsupportedOperationException("isWritable");
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> arg0) throws SQLException {
+        throw new UnsupportedOperationException("unwrap");
+    }
+}
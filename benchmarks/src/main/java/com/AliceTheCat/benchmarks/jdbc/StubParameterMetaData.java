@@ -0,0 +1,26 @@
+package com.AliceTheCat.benchmarks.jdbc;
+
+/**
+ * Parameter meta-data reporting a fixed number of parameters of one type.
+ */
+final class StubParameterMetaData extends AbstractParameterMetaData {
+
+    private final int parameterCount;
+
+    private final int sqlType;
+
+    StubParameterMetaData(final int parameterCount, final int sqlType) {
+        this.parameterCount = parameterCount;
+        this.sqlType = sqlType;
+    }
+
+    @Override
+    public int getParameterCount() {
+        return this.parameterCount;
+    }
+
+    @Override
+    public int getParameterType(final int param) {
+        return this.sqlType;
+    }
+}
@@ -0,0 +1,140 @@
+package com.AliceTheCat.benchmarks.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ParameterMetaData;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * A statement that accepts parameters and discards them.  The values are
+ * folded into {@link #checksum()} so the JIT can't drop the calls.
+ */
+public final class StubPreparedStatement extends AbstractPreparedStatement {
+
+    private final ParameterMetaData parameterMetaData;
+
+    private long checksum;
+
+    /**
+     * @param parameterCount The number of parameters reported by the
+     * parameter meta-data, all of type {@code VARCHAR}.
+     */
+    public StubPreparedStatement(final int parameterCount) {
+        this.parameterMetaData = new StubParameterMetaData(parameterCount, Types.VARCHAR);
+    }
+
+    /**
+     * @return A value depending on every parameter set so far.
+     */
+    public long checksum() {
+        return this.checksum;
+    }
+
+    private void bind(final int parameterIndex, final long value) {
+        this.checksum = this.checksum * 31 + parameterIndex + value;
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() {
+        return this.parameterMetaData;
+    }
+
+    @Override
+    public void setNull(final int parameterIndex, final int sqlType) {
+        this.bind(parameterIndex, sqlType);
+    }
+
+    @Override
+    public void setInt(final int parameterIndex, final int x) {
+        this.bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setLong(final int parameterIndex, final long x) {
+        this.bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setDouble(final int parameterIndex, final double x) {
+        this.bind(parameterIndex, Double.doubleToRawLongBits(x));
+    }
+
+    @Override
+    public void setFloat(final int parameterIndex, final float x) {
+        this.bind(parameterIndex, Float.floatToRawIntBits(x));
+    }
+
+    @Override
+    public void setShort(final int parameterIndex, final short x) {
+        this.bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setByte(final int parameterIndex, final byte x) {
+        this.bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setBoolean(final int parameterIndex, final boolean x) {
+        this.bind(parameterIndex, x ? 1 : 0);
+    }
+
+    @Override
+    public void setString(final int parameterIndex, final String x) {
+        this.bind(parameterIndex, x.length());
+    }
+
+    @Override
+    public void setBigDecimal(final int parameterIndex, final BigDecimal x) {
+        this.bind(parameterIndex, x.scale());
+    }
+
+    @Override
+    public void setBytes(final int parameterIndex, final byte[] x) {
+        this.bind(parameterIndex, x.length);
+    }
+
+    @Override
+    public void setTimestamp(final int parameterIndex, final Timestamp x) {
+        this.bind(parameterIndex, x.getTime());
+    }
+
+    @Override
+    public void setDate(final int parameterIndex, final Date x) {
+        this.bind(parameterIndex, x.getTime());
+    }
+
+    @Override
+    public void setTime(final int parameterIndex, final Time x) {
+        this.bind(parameterIndex, x.getTime());
+    }
+
+    @Override
+    public void setObject(final int parameterIndex, final Object x) {
+        this.bind(parameterIndex, x.hashCode());
+    }
+
+    @Override
+    public void setObject(final int parameterIndex, final Object x, final int targetSqlType) {
+        this.bind(parameterIndex, x.hashCode() + targetSqlType);
+    }
+
+    @Override
+    public void clearParameters() {
+    }
+
+    @Override
+    public void addBatch() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean isClosed() {
+        return false;
+    }
+}
@@ -0,0 +1,171 @@
+package com.AliceTheCat.benchmarks.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+/**
+ * An in-memory, forward-only result over pre-built rows.  The getters
+ * return the stored values without allocating, so the benchmarks measure
+ * the library rather than the stub.  Call {@link #reset()} to read the
+ * rows again.
+ */
+public final class StubResultSet extends AbstractResultSet {
+
+    private final String[] labels;
+
+    private final Object[][] rows;
+
+    private final StubResultSetMetaData metaData;
+
+    private int cursor = -1;
+
+    private boolean wasNull;
+
+    /**
+     * @param labels The column labels.
+     * @param sqlTypes The SQL type of each column.
+     * @param rows The rows, each holding one value per column.
+     */
+    public StubResultSet(final String[] labels, final int[] sqlTypes, final Object[][] rows) {
+        this.labels = labels;
+        this.rows = rows;
+        this.metaData = new StubResultSetMetaData(labels, sqlTypes);
+    }
+
+    /**
+     * Moves the cursor back before the first row.
+     */
+    public void reset() {
+        this.cursor = -1;
+    }
+
+    private Object value(final int columnIndex) {
+        final Object value = this.rows[this.cursor][columnIndex - 1];
+        this.wasNull = value == null;
+        return value;
+    }
+
+    @Override
+    public boolean next() {
+        if (this.cursor < this.rows.length) {
+            this.cursor++;
+        }
+        return this.cursor < this.rows.length;
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() {
+        return this.metaData;
+    }
+
+    @Override
+    public int findColumn(final String columnLabel) throws SQLException {
+        for (int i = 0; i < this.labels.length; i++) {
+            if (this.labels[i].equalsIgnoreCase(columnLabel)) {
+                return i + 1;
+            }
+        }
+        throw new SQLException("Column not found: " + columnLabel);
+    }
+
+    @Override
+    public boolean wasNull() {
+        return this.wasNull;
+    }
+
+    @Override
+    public Object getObject(final int columnIndex) {
+        return this.value(columnIndex);
+    }
+
+    @Override
+    public <T> T getObject(final int columnIndex, final Class<T> type) {
+        return type.cast(this.value(columnIndex));
+    }
+
+    @Override
+    public String getString(final int columnIndex) {
+        final Object value = this.value(columnIndex);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public int getInt(final int columnIndex) {
+        final Object value = this.value(columnIndex);
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+
+    @Override
+    public long getLong(final int columnIndex) {
+        final Object value = this.value(columnIndex);
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    @Override
+    public double getDouble(final int columnIndex) {
+        final Object value = this.value(columnIndex);
+        return value == null ? 0 : ((Number) value).doubleValue();
+    }
+
+    @Override
+    public float getFloat(final int columnIndex) {
+        final Object value = this.value(columnIndex);
+        return value == null ? 0 : ((Number) value).floatValue();
+    }
+
+    @Override
+    public short getShort(final int columnIndex) {
+        final Object value = this.value(columnIndex);
+        return value == null ? 0 : ((Number) value).shortValue();
+    }
+
+    @Override
+    public byte getByte(final int columnIndex) {
+        final Object value = this.value(columnIndex);
+        return value == null ? 0 : ((Number) value).byteValue();
+    }
+
+    @Override
+    public boolean getBoolean(final int columnIndex) {
+        final Object value = this.value(columnIndex);
+        return value != null && (Boolean) value;
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(final int columnIndex) {
+        return (BigDecimal) this.value(columnIndex);
+    }
+
+    @Override
+    public byte[] getBytes(final int columnIndex) {
+        return (byte[]) this.value(columnIndex);
+    }
+
+    @Override
+    public Timestamp getTimestamp(final int columnIndex) {
+        return (Timestamp) this.value(columnIndex);
+    }
+
+    @Override
+    public Date getDate(final int columnIndex) {
+        return (Date) this.value(columnIndex);
+    }
+
+    @Override
+    public Time getTime(final int columnIndex) {
+        return (Time) this.value(columnIndex);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean isClosed() {
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package com.AliceTheCat.benchmarks.jdbc;
+
+/**
+ * The meta-data of a {@link StubResultSet}.
+ */
+final class StubResultSetMetaData extends AbstractResultSetMetaData {
+
+    private final String[] labels;
+
+    private final int[] sqlTypes;
+
+    StubResultSetMetaData(final String[] labels, final int[] sqlTypes) {
+        this.labels = labels;
+        this.sqlTypes = sqlTypes;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return this.labels.length;
+    }
+
+    @Override
+    public String getColumnLabel(final int column) {
+        return this.labels[column - 1];
+    }
+
+    @Override
+    public String getColumnName(final int column) {
+        return this.labels[column - 1];
+    }
+
+    @Override
+    public int getColumnType(final int column) {
+        return this.sqlTypes[column - 1];
+    }
+}
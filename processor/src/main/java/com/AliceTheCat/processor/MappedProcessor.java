@@ -0,0 +1,500 @@
+package com.AliceTheCat.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates a {@code com.AliceTheCat.GeneratedMapper} for every class
+ * annotated {@code com.AliceTheCat.Mapped}, and lists them in
+ * {@code META-INF/services} so that the library finds them at runtime.
+ * The generated class is named after the bean class with a
+ * {@code _GeneratedMapper} suffix, in the same package, with {@code $}
+ * between the names of nested classes ({@code Outer$Inner_GeneratedMapper}),
+ * and reads and writes the bean through direct getter and setter calls.
+ *
+ * <p>
+ * Properties follow the JavaBeans naming rules used by
+ * {@code java.beans.Introspector}: public {@code getX()}, {@code isX()}
+ * for {@code boolean}, and {@code void setX(value)} methods, including the
+ * inherited ones.  Columns are read with the same {@code ResultSet}
+ * getters as {@code BeanProcessor} uses.
+ * </p>
+ *
+ * <p>
+ * The service file keeps the entries written by earlier compilations
+ * into the same output directory, so an incremental build that didn't
+ * recompile every annotated class still lists them all.  Entries whose
+ * mapper can no longer be found, or whose bean class is gone or no
+ * longer annotated, are dropped.
+ * </p>
+ */
+@SupportedAnnotationTypes(MappedProcessor.MAPPED)
+public class MappedProcessor extends AbstractProcessor {
+
+    static final String MAPPED = "com.AliceTheCat.Mapped";
+
+    private static final String GENERATED_MAPPER = "com.AliceTheCat.GeneratedMapper";
+
+    private static final String BEAN_CONSTRUCTOR = "com.AliceTheCat.BeanConstructor";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + GENERATED_MAPPER;
+
+    private static final String SUFFIX = "_GeneratedMapper";
+
+    /**
+     * The {@code ResultSet} getter of each primitive type and its wrapper.
+     */
+    private static final Map<String, String> PRIMITIVE_GETTERS = new TreeMap<>();
+
+    /**
+     * The {@code ResultSet} getter of the other types with a dedicated one.
+     */
+    private static final Map<String, String> OBJECT_GETTERS = new TreeMap<>();
+
+    static {
+        PRIMITIVE_GETTERS.put("int", "getInt");
+        PRIMITIVE_GETTERS.put("long", "getLong");
+        PRIMITIVE_GETTERS.put("double", "getDouble");
+        PRIMITIVE_GETTERS.put("float", "getFloat");
+        PRIMITIVE_GETTERS.put("short", "getShort");
+        PRIMITIVE_GETTERS.put("byte", "getByte");
+        PRIMITIVE_GETTERS.put("boolean", "getBoolean");
+        PRIMITIVE_GETTERS.put("java.lang.Integer", "getInt");
+        PRIMITIVE_GETTERS.put("java.lang.Long", "getLong");
+        PRIMITIVE_GETTERS.put("java.lang.Double", "getDouble");
+        PRIMITIVE_GETTERS.put("java.lang.Float", "getFloat");
+        PRIMITIVE_GETTERS.put("java.lang.Short", "getShort");
+        PRIMITIVE_GETTERS.put("java.lang.Byte", "getByte");
+        PRIMITIVE_GETTERS.put("java.lang.Boolean", "getBoolean");
+
+        OBJECT_GETTERS.put("java.lang.String", "rs.getString(column)");
+        OBJECT_GETTERS.put("java.math.BigDecimal", "rs.getBigDecimal(column)");
+        OBJECT_GETTERS.put("byte[]", "rs.getBytes(column)");
+        OBJECT_GETTERS.put("java.sql.Timestamp", "rs.getTimestamp(column)");
+        OBJECT_GETTERS.put("java.sql.Date", "rs.getDate(column)");
+        OBJECT_GETTERS.put("java.sql.Time", "rs.getTime(column)");
+        OBJECT_GETTERS.put("java.time.LocalDate", "rs.getObject(column, java.time.LocalDate.class)");
+        OBJECT_GETTERS.put("java.time.LocalTime", "rs.getObject(column, java.time.LocalTime.class)");
+        OBJECT_GETTERS.put("java.time.LocalDateTime", "rs.getObject(column, java.time.LocalDateTime.class)");
+        OBJECT_GETTERS.put("java.time.OffsetDateTime", "rs.getObject(column, java.time.OffsetDateTime.class)");
+    }
+
+    /**
+     * The binary names of the mappers generated so far.
+     */
+    private final Set<String> generated = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            this.writeServiceFile();
+            return false;
+        }
+        final TypeElement mapped = this.processingEnv.getElementUtils().getTypeElement(MAPPED);
+        if (mapped == null) {
+            return false;
+        }
+        for (final Element element : roundEnv.getElementsAnnotatedWith(mapped)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                this.error(element, "@Mapped only applies to classes");
+                continue;
+            }
+            final TypeElement type = (TypeElement) element;
+            if (this.check(type)) {
+                this.generate(type);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that the generated code can create and access {@code type}.
+     *
+     * @return false if an error was reported.
+     */
+    private boolean check(final TypeElement type) {
+        final Set<Modifier> modifiers = type.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT)) {
+            this.error(type, "@Mapped class cannot be abstract");
+            return false;
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            this.error(type, "@Mapped class cannot be generic");
+            return false;
+        }
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            final TypeElement t = (TypeElement) e;
+            if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS) {
+                this.error(type, "@Mapped class cannot be local");
+                return false;
+            }
+            if (t.getModifiers().contains(Modifier.PRIVATE)
+                    || (t.getNestingKind() == NestingKind.MEMBER && t.getKind() == ElementKind.CLASS
+                    && !t.getModifiers().contains(Modifier.STATIC))) {
+                this.error(type, "@Mapped class must be top level or static nested, and not private");
+                return false;
+            }
+        }
+
+        boolean noArg = false;
+        for (final ExecutableElement c : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (hasAnnotation(c, BEAN_CONSTRUCTOR)) {
+                this.error(c, "@BeanConstructor is not supported on @Mapped classes");
+                return false;
+            }
+            if (c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE)
+                    && c.getThrownTypes().isEmpty()) {
+                noArg = true;
+            }
+        }
+        if (!noArg) {
+            this.error(type, "@Mapped class needs a non-private no-arg constructor that throws no exception");
+            return false;
+        }
+        return true;
+    }
+
+    private void generate(final TypeElement type) {
+        final DeclaredType declared = (DeclaredType) type.asType();
+        final Map<String, ExecutableElement> getters = new TreeMap<>();
+        final Map<String, List<ExecutableElement>> setters = new TreeMap<>();
+        for (final ExecutableElement method : ElementFilter.methodsIn(
+                this.processingEnv.getElementUtils().getAllMembers(type))) {
+            final Set<Modifier> modifiers = method.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+                    || ((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals("java.lang.Object")) {
+                continue;
+            }
+            final String name = method.getSimpleName().toString();
+            final ExecutableType signature = (ExecutableType) this.processingEnv.getTypeUtils().asMemberOf(declared, method);
+            final int parameters = signature.getParameterTypes().size();
+            final TypeKind returnKind = signature.getReturnType().getKind();
+            if (name.startsWith("get") && name.length() > 3 && parameters == 0 && returnKind != TypeKind.VOID) {
+                getters.putIfAbsent(decapitalize(name.substring(3)), method);
+            } else if (name.startsWith("is") && name.length() > 2 && parameters == 0
+                    && returnKind == TypeKind.BOOLEAN) {
+                getters.put(decapitalize(name.substring(2)), method);
+            } else if (name.startsWith("set") && name.length() > 3 && parameters == 1
+                    && returnKind == TypeKind.VOID) {
+                setters.computeIfAbsent(decapitalize(name.substring(3)), k -> new ArrayList<>()).add(method);
+            }
+        }
+
+        final List<String> writable = new ArrayList<>();
+        final List<TypeMirror> writableTypes = new ArrayList<>();
+        final List<ExecutableElement> writeMethods = new ArrayList<>();
+        for (final Map.Entry<String, List<ExecutableElement>> e : setters.entrySet()) {
+            final ExecutableElement getter = getters.get(e.getKey());
+            ExecutableElement setter = e.getValue().get(0);
+            for (final ExecutableElement candidate : e.getValue()) {
+                if (getter != null && this.processingEnv.getTypeUtils().isSameType(
+                        this.parameterType(declared, candidate), this.returnType(declared, getter))) {
+                    setter = candidate;
+                }
+            }
+            if (this.throwsChecked(setter)) {
+                continue;
+            }
+            writable.add(e.getKey());
+            writableTypes.add(this.parameterType(declared, setter));
+            writeMethods.add(setter);
+        }
+        final List<String> readable = new ArrayList<>();
+        final List<ExecutableElement> readMethods = new ArrayList<>();
+        for (final Map.Entry<String, ExecutableElement> e : getters.entrySet()) {
+            if (!this.throwsChecked(e.getValue())) {
+                readable.add(e.getKey());
+                readMethods.add(e.getValue());
+            }
+        }
+
+        final PackageElement pkg = this.processingEnv.getElementUtils().getPackageOf(type);
+        final String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        final String beanName = type.getQualifiedName().toString();
+        // '$' keeps Outer.Inner and a top-level Outer_Inner apart
+        final String simpleName = (packageName.isEmpty() ? beanName : beanName.substring(packageName.length() + 1))
+                .replace('.', '$') + SUFFIX;
+        final String className = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        final StringBuilder populate = new StringBuilder();
+        boolean unchecked = false;
+        for (int i = 0; i < writable.size(); i++) {
+            populate.append("        if ((column = columns[").append(i).append("]) != 0) {\n");
+            unchecked |= this.appendWrite(populate, writable.get(i), writableTypes.get(i),
+                    writeMethods.get(i).getSimpleName().toString(), i);
+            populate.append("        }\n");
+        }
+
+        final StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        if (this.processingEnv.getElementUtils().getTypeElement("javax.annotation.processing.Generated") != null) {
+            out.append("@javax.annotation.processing.Generated(\"").append(MappedProcessor.class.getName())
+                    .append("\")\n");
+        }
+        out.append("public final class ").append(simpleName).append(" implements ").append(GENERATED_MAPPER)
+                .append('<').append(beanName).append("> {\n\n");
+        out.append("    private static final String[] WRITABLE = ").append(stringArray(writable)).append(";\n\n");
+        out.append("    private static final String[] READABLE = ").append(stringArray(readable)).append(";\n\n");
+        out.append("    @Override\n");
+        out.append("    public Class<").append(beanName).append("> type() {\n");
+        out.append("        return ").append(beanName).append(".class;\n");
+        out.append("    }\n\n");
+        out.append("    @Override\n");
+        out.append("    public String[] writableProperties() {\n");
+        out.append("        return WRITABLE.clone();\n");
+        out.append("    }\n\n");
+        out.append("    @Override\n");
+        out.append("    public String[] readableProperties() {\n");
+        out.append("        return READABLE.clone();\n");
+        out.append("    }\n\n");
+        out.append("    @Override\n");
+        out.append("    public ").append(beanName).append(" newInstance() {\n");
+        out.append("        return new ").append(beanName).append("();\n");
+        out.append("    }\n\n");
+        out.append("    @Override\n");
+        if (unchecked) {
+            out.append("    @SuppressWarnings(\"unchecked\")\n");
+        }
+        out.append("    public void populate(final ").append(beanName)
+                .append(" bean, final java.sql.ResultSet rs, final int[] columns)\n");
+        out.append("            throws java.sql.SQLException {\n");
+        if (!writable.isEmpty()) {
+            out.append("        int column;\n");
+        }
+        out.append(populate);
+        out.append("    }\n\n");
+        out.append("    @Override\n");
+        out.append("    public Object read(final ").append(beanName).append(" bean, final int property) {\n");
+        out.append("        switch (property) {\n");
+        for (int i = 0; i < readable.size(); i++) {
+            out.append("            case ").append(i).append(":\n");
+            out.append("                return bean.").append(readMethods.get(i).getSimpleName()).append("();\n");
+        }
+        out.append("            default:\n");
+        out.append("                throw new IndexOutOfBoundsException(\"No property \" + property);\n");
+        out.append("        }\n");
+        out.append("    }\n");
+        out.append("}\n");
+
+        try {
+            final JavaFileObject file = this.processingEnv.getFiler().createSourceFile(className, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(out.toString());
+            }
+        } catch (IOException e) {
+            this.error(type, "Cannot write " + className + ": " + e.getMessage());
+            return;
+        }
+        this.generated.add(packageName.isEmpty() ? simpleName : packageName + "." + simpleName);
+    }
+
+    /**
+     * Appends the statements reading the current column and passing it to
+     * the setter.
+     *
+     * @return true if the statements contain an unchecked cast.
+     */
+    private boolean appendWrite(final StringBuilder out, final String property, final TypeMirror type,
+                                final String setter, final int i) {
+        final String typeName = this.processingEnv.getTypeUtils().erasure(type).toString();
+        final String primitiveGetter = PRIMITIVE_GETTERS.get(typeName);
+        final String objectGetter = OBJECT_GETTERS.get(typeName);
+        boolean unchecked = false;
+        if (primitiveGetter != null && type.getKind().isPrimitive()) {
+            out.append("            bean.").append(setter).append("(rs.").append(primitiveGetter)
+                    .append("(column));\n");
+        } else if (primitiveGetter != null) {
+            final String primitive = this.processingEnv.getTypeUtils().unboxedType(type).toString();
+            out.append("            final ").append(primitive).append(" v").append(i).append(" = rs.")
+                    .append(primitiveGetter).append("(column);\n");
+            out.append("            bean.").append(setter).append("(rs.wasNull() ? null : v").append(i).append(");\n");
+        } else if (objectGetter != null) {
+            out.append("            bean.").append(setter).append('(').append(objectGetter).append(");\n");
+        } else if (type.getKind() == TypeKind.CHAR) {
+            out.append("            final Character v").append(i).append(" = ").append(GENERATED_MAPPER)
+                    .append(".convert(rs.getObject(column), Character.class, \"").append(property).append("\");\n");
+            out.append("            bean.").append(setter).append("(v").append(i).append(" == null ? (char) 0 : v")
+                    .append(i).append(");\n");
+        } else {
+            unchecked = !typeName.equals(type.toString());
+            out.append("            bean.").append(setter).append('(');
+            if (unchecked) {
+                out.append('(').append(type).append(") ");
+            }
+            out.append(GENERATED_MAPPER).append(".convert(rs.getObject(column), ").append(typeName)
+                    .append(".class, \"").append(property).append("\"));\n");
+        }
+        return unchecked;
+    }
+
+    private TypeMirror parameterType(final DeclaredType declared, final ExecutableElement method) {
+        return ((ExecutableType) this.processingEnv.getTypeUtils().asMemberOf(declared, method))
+                .getParameterTypes().get(0);
+    }
+
+    private TypeMirror returnType(final DeclaredType declared, final ExecutableElement method) {
+        return ((ExecutableType) this.processingEnv.getTypeUtils().asMemberOf(declared, method)).getReturnType();
+    }
+
+    /**
+     * Reports a warning and returns true if {@code method} declares checked
+     * exceptions, which the generated code doesn't handle.
+     */
+    private boolean throwsChecked(final ExecutableElement method) {
+        final TypeMirror runtime = this.processingEnv.getElementUtils()
+                .getTypeElement("java.lang.RuntimeException").asType();
+        final TypeMirror error = this.processingEnv.getElementUtils().getTypeElement("java.lang.Error").asType();
+        for (final TypeMirror thrown : method.getThrownTypes()) {
+            if (!this.processingEnv.getTypeUtils().isAssignable(thrown, runtime)
+                    && !this.processingEnv.getTypeUtils().isAssignable(thrown, error)) {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Ignored by the generated mapper: declares checked exception " + thrown, method);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeServiceFile() {
+        if (this.generated.isEmpty()) {
+            return;
+        }
+        final Set<String> names = new TreeSet<>(this.generated);
+        for (final String name : this.readServiceFile()) {
+            if (this.resolves(name)) {
+                names.add(name);
+            }
+        }
+        try {
+            final FileObject file = this.processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (final String name : names) {
+                    writer.write(name);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The mappers listed in the service file left in the output
+     * directory by an earlier compilation, if any.
+     */
+    private List<String> readServiceFile() {
+        final List<String> names = new ArrayList<>();
+        try {
+            final FileObject file = this.processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(file.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final int comment = line.indexOf('#');
+                    final String name = (comment < 0 ? line : line.substring(0, comment)).trim();
+                    if (!name.isEmpty()) {
+                        names.add(name);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // No earlier service file
+        }
+        return names;
+    }
+
+    /**
+     * @param name A mapper listed by an earlier compilation.
+     * @return Whether the mapper still exists and still maps a class
+     * annotated {@code Mapped}, read from its {@code GeneratedMapper} type
+     * argument.
+     */
+    private boolean resolves(final String name) {
+        final Elements elements = this.processingEnv.getElementUtils();
+        try {
+            final TypeElement mapper = elements.getTypeElement(name);
+            if (mapper == null) {
+                return false;
+            }
+            for (final TypeMirror implemented : mapper.getInterfaces()) {
+                final DeclaredType declared = (DeclaredType) implemented;
+                if (((TypeElement) declared.asElement()).getQualifiedName().contentEquals(GENERATED_MAPPER)
+                        && declared.getTypeArguments().size() == 1
+                        && declared.getTypeArguments().get(0).getKind() == TypeKind.DECLARED) {
+                    final TypeElement bean = (TypeElement) ((DeclaredType) declared.getTypeArguments().get(0)).asElement();
+                    final TypeElement current = elements.getTypeElement(bean.getQualifiedName());
+                    return current != null && hasAnnotation(current, MAPPED);
+                }
+            }
+        } catch (RuntimeException e) {
+            // A class the mapper refers to is gone
+        }
+        return false;
+    }
+
+    private void error(final Element element, final String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static boolean hasAnnotation(final Element element, final String annotation) {
+        return element.getAnnotationMirrors().stream().anyMatch(m ->
+                ((TypeElement) m.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation));
+    }
+
+    /**
+     * Same as {@code java.beans.Introspector.decapitalize}: "FooBah"
+     * becomes "fooBah" but "URL" stays "URL".
+     */
+    private static String decapitalize(final String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String stringArray(final List<String> values) {
+        final StringBuilder out = new StringBuilder("{");
+        for (int i = 0; i < values.size(); i++) {
+            out.append(i == 0 ? "" : ", ").append('"').append(values.get(i)).append('"');
+        }
+        return out.append('}').toString();
+    }
+}
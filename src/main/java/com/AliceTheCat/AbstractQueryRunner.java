@@ -1,12 +1,22 @@
 package com.AliceTheCat;
 
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
 import java.sql.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * The base class for QueryRunner &amp; AsyncQueryRunner. This class is thread safe.
@@ -14,17 +24,182 @@ import java.util.Arrays;
  * @since 1.4 (mostly extracted from QueryRunner)
  */
 public abstract class AbstractQueryRunner {
+    /**
+     * The maximum number of SQL strings whose parameter meta-data is cached;
+     * the cache is cleared when it is reached.
+     */
+    private static final int MAX_CACHED_PARAMETER_INFOS = 1024;
+
+    /**
+     * Typed {@code PreparedStatement} setters by parameter class, so that
+     * drivers don't have to inspect every value passed to
+     * {@code setObject}.
+     */
+    private static final Map<Class<?>, ParameterBinder> parameterBinders = new HashMap<>();
+
+    /**
+     * Binds enums by name, like the string columns they are usually stored in.
+     */
+    private static final ParameterBinder ENUM_BINDER =
+            (stmt, index, value) -> stmt.setString(index, ((Enum<?>) value).name());
+
+    /**
+     * Binds values of any other class.
+     */
+    private static final ParameterBinder OBJECT_BINDER = PreparedStatement::setObject;
+
+    static {
+        parameterBinders.put(String.class, (stmt, index, value) -> stmt.setString(index, (String) value));
+        parameterBinders.put(Integer.class, (stmt, index, value) -> stmt.setInt(index, (Integer) value));
+        parameterBinders.put(Long.class, (stmt, index, value) -> stmt.setLong(index, (Long) value));
+        parameterBinders.put(Double.class, (stmt, index, value) -> stmt.setDouble(index, (Double) value));
+        parameterBinders.put(Float.class, (stmt, index, value) -> stmt.setFloat(index, (Float) value));
+        parameterBinders.put(Short.class, (stmt, index, value) -> stmt.setShort(index, (Short) value));
+        parameterBinders.put(Byte.class, (stmt, index, value) -> stmt.setByte(index, (Byte) value));
+        parameterBinders.put(Boolean.class, (stmt, index, value) -> stmt.setBoolean(index, (Boolean) value));
+        parameterBinders.put(BigDecimal.class, (stmt, index, value) -> stmt.setBigDecimal(index, (BigDecimal) value));
+        parameterBinders.put(byte[].class, (stmt, index, value) -> stmt.setBytes(index, (byte[]) value));
+        parameterBinders.put(Timestamp.class, (stmt, index, value) -> stmt.setTimestamp(index, (Timestamp) value));
+        parameterBinders.put(Date.class, (stmt, index, value) -> stmt.setDate(index, (Date) value));
+        parameterBinders.put(Time.class, (stmt, index, value) -> stmt.setTime(index, (Time) value));
+        parameterBinders.put(LocalDate.class, (stmt, index, value) -> stmt.setObject(index, value, Types.DATE));
+        parameterBinders.put(LocalTime.class, (stmt, index, value) -> stmt.setObject(index, value, Types.TIME));
+        parameterBinders.put(LocalDateTime.class, (stmt, index, value) -> stmt.setObject(index, value, Types.TIMESTAMP));
+        parameterBinders.put(OffsetDateTime.class,
+                (stmt, index, value) -> stmt.setObject(index, value, Types.TIMESTAMP_WITH_TIMEZONE));
+        parameterBinders.put(Instant.class,
+                (stmt, index, value) -> stmt.setTimestamp(index, Timestamp.from((Instant) value)));
+    }
+
     /**
      * Is {@link ParameterMetaData#getParameterType(int)} broken (have we tried
      * it yet)?
      */
     private volatile boolean pmdKnownBroken = false;
 
+    /**
+     * Parameter count and types, by SQL string, or
+     * {@link ParameterInfo#UNAVAILABLE} for the statements whose meta-data
+     * could not be read.
+     */
+    private final ConcurrentMap<String, ParameterInfo> parameterInfos = new ConcurrentHashMap<>();
+
+    /**
+     * Compiled bean binders, per bean class and property name list.  The
+     * {@code ClassValue} lets bean classes be unloaded.
+     */
+    private final ClassValue<ConcurrentMap<List<String>, BeanBinder>> beanBinders =
+            new ClassValue<ConcurrentMap<List<String>, BeanBinder>>() {
+                @Override
+                protected ConcurrentMap<List<String>, BeanBinder> computeValue(final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /**
+     * The cache {@code PreparedStatement}s are taken from, or {@code null}
+     * if every statement is prepared and closed on each call.
+     */
+    private final StatementCache statementCache;
+
+    /**
+     * The listener receiving statement timings, {@link MetricsListener#NONE}
+     * if there is none.
+     */
+    private final MetricsListener metricsListener;
+
     /**
      * Default constructor, sets pmdKnownBroken to false, ds to null and stmtConfig to null.
-     * I don't handle constructor with parameter pmdKnownBroken & stmtConfig in this lite version.
+     * I don't handle constructor with parameter stmtConfig in this lite version.
      */
     public AbstractQueryRunner() {
+        this(null, false);
+    }
+
+    /**
+     * Constructor to control the use of {@code ParameterMetaData}.
+     *
+     * @param pmdKnownBroken Some drivers don't support
+     *                       {@link ParameterMetaData#getParameterType(int)};
+     *                       if {@code pmdKnownBroken} is set to true, we won't
+     *                       even try it; if false, we'll try it, and if it
+     *                       breaks, we'll remember not to use it again.
+     */
+    public AbstractQueryRunner(final boolean pmdKnownBroken) {
+        this(null, pmdKnownBroken);
+    }
+
+    /**
+     * Constructor to reuse {@code PreparedStatement}s through a cache.
+     *
+     * @param statementCache The statement cache, or {@code null} to prepare
+     *                       and close statements on every call.
+     */
+    public AbstractQueryRunner(final StatementCache statementCache) {
+        this(statementCache, false);
+    }
+
+    /**
+     * Constructor to reuse {@code PreparedStatement}s through a cache and
+     * control the use of {@code ParameterMetaData}.
+     *
+     * @param statementCache The statement cache, or {@code null} to prepare
+     *                       and close statements on every call.
+     * @param pmdKnownBroken Whether to skip {@code ParameterMetaData}
+     *                       entirely.
+     */
+    public AbstractQueryRunner(final StatementCache statementCache, final boolean pmdKnownBroken) {
+        this(statementCache, null, pmdKnownBroken);
+    }
+
+    /**
+     * Constructor with all the options.
+     *
+     * @param statementCache  The statement cache, or {@code null} to prepare
+     *                        and close statements on every call.
+     * @param metricsListener The listener receiving statement timings, or
+     *                        {@code null} for none.
+     * @param pmdKnownBroken  Whether to skip {@code ParameterMetaData}
+     *                        entirely.
+     */
+    public AbstractQueryRunner(final StatementCache statementCache, final MetricsListener metricsListener,
+                               final boolean pmdKnownBroken) {
+        this.statementCache = statementCache;
+        this.metricsListener = metricsListener == null ? MetricsListener.NONE : metricsListener;
+        this.pmdKnownBroken = pmdKnownBroken;
+    }
+
+    /**
+     * Is {@link ParameterMetaData#getParameterType(int)} broken (have we tried
+     * it yet)?
+     *
+     * @return whether parameter meta-data is known to be broken
+     */
+    public boolean isPmdKnownBroken() {
+        return this.pmdKnownBroken;
+    }
+
+    /**
+     * @return The statement cache used by this runner, or {@code null}.
+     */
+    public StatementCache getStatementCache() {
+        return this.statementCache;
+    }
+
+    /**
+     * @return The listener receiving statement timings,
+     * {@link MetricsListener#NONE} if there is none.
+     */
+    public MetricsListener getMetricsListener() {
+        return this.metricsListener;
+    }
+
+    /**
+     * @return The current time in nanoseconds, or 0 if there is no metrics
+     * listener, so that a runner without metrics never reads the clock.
+     */
+    long metricsTime() {
+        return this.metricsListener == MetricsListener.NONE ? 0 : System.nanoTime();
     }
 
     /**
@@ -38,28 +213,159 @@ public abstract class AbstractQueryRunner {
      */
     public void fillStatement(final PreparedStatement stmt, final Object... params)
             throws SQLException {
-        // TODO
+        this.fillStatement(null, stmt, params);
+    }
+
+    /**
+     * Fill the {@code PreparedStatement} replacement parameters with the
+     * given objects.  The parameter meta-data is looked up once per SQL
+     * string and reused by later calls with the same SQL.
+     *
+     * @param sql    The SQL {@code stmt} was prepared with, or {@code null}
+     *               if unknown, in which case nothing is cached.
+     * @param stmt   PreparedStatement to fill
+     * @param params Query replacement parameters; {@code null} is a valid
+     *               value to pass in.
+     * @throws SQLException if a database access error occurs
+     */
+    void fillStatement(final String sql, final PreparedStatement stmt, final Object... params)
+            throws SQLException {
         if (stmt == null || params == null) return;
 
-        ParameterMetaData pmd = stmt.getParameterMetaData();
-        if (pmd.getParameterCount() != params.length) {
-            throw new SQLException("Unmatched parameters number (expected " + pmd.getParameterCount()
-                    + ", actual " + params.length);
+        final ParameterInfo info = this.parameterInfo(sql, stmt);
+        if (info != null && info.count != params.length) {
+            throw new SQLException("Unmatched parameters number (expected " + info.count
+                    + ", actual " + params.length + ")");
         }
 
         for (int i = 0; i < params.length; i++) {
-            if (params[i] != null) {
-                stmt.setObject(i + 1, params[i]);
+            final Object param = params[i];
+            if (param != null) {
+                parameterBinder(param.getClass()).bind(stmt, i + 1, param);
             } else {
                 // note from dbutils
                 // VARCHAR works with many drivers regardless
                 // of the actual column type. Oddly, NULL and
                 // OTHER don't work with Oracle's drivers.
-                stmt.setNull(i + 1, Types.VARCHAR);
+                stmt.setNull(i + 1, info == null ? Types.VARCHAR : info.sqlType(i));
             }
         }
     }
 
+    /**
+     * Returns the binder for parameters of the given class: a typed setter
+     * for the common JDBC types, {@code setString} of the name for enums,
+     * and {@code setObject} otherwise.
+     *
+     * @param type The parameter class.
+     * @return The binder; never {@code null}.
+     */
+    static ParameterBinder parameterBinder(final Class<?> type) {
+        final ParameterBinder binder = parameterBinders.get(type);
+        if (binder != null) {
+            return binder;
+        }
+        return Enum.class.isAssignableFrom(type) ? ENUM_BINDER : OBJECT_BINDER;
+    }
+
+    /**
+     * Returns the binder that can be chosen ahead of time for values
+     * declared with the given type.
+     *
+     * @param type The declared type of the values.
+     * @return The binder, or {@code null} if it depends on the runtime class
+     * of each value.
+     */
+    static ParameterBinder parameterBinderForType(final Class<?> type) {
+        final Class<?> boxed = MethodType.methodType(type).wrap().returnType();
+        final ParameterBinder binder = parameterBinders.get(boxed);
+        if (binder != null) {
+            return binder;
+        }
+        return Enum.class.isAssignableFrom(type) ? ENUM_BINDER : null;
+    }
+
+    /**
+     * Roughly estimates how many bytes a parameter value takes in a driver's
+     * batch buffer.
+     *
+     * @param value The parameter value.
+     * @return The estimated size in bytes.
+     */
+    static long estimateSize(final Object value) {
+        if (value instanceof String) {
+            return ((String) value).length();
+        } else if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        } else if (value instanceof BigDecimal) {
+            return 16;
+        }
+        return 8;
+    }
+
+    /**
+     * Returns the parameter meta-data of {@code stmt}, from the cache when
+     * {@code sql} has been seen before.  A driver reporting that parameter
+     * meta-data is not supported marks it as broken, and it is not asked
+     * for again; any other failure marks it as unavailable for that SQL
+     * only.
+     *
+     * @param sql  The SQL {@code stmt} was prepared with, or {@code null}.
+     * @param stmt The statement.
+     * @return The parameter count and types, or {@code null} if parameter
+     * meta-data is broken or could not be read.
+     */
+    private ParameterInfo parameterInfo(final String sql, final PreparedStatement stmt) {
+        if (this.pmdKnownBroken) {
+            return null;
+        }
+        if (sql != null) {
+            final ParameterInfo cached = this.parameterInfos.get(sql);
+            if (cached != null) {
+                return cached == ParameterInfo.UNAVAILABLE ? null : cached;
+            }
+        }
+
+        ParameterInfo info;
+        try {
+            final ParameterMetaData pmd = stmt.getParameterMetaData();
+            if (pmd == null) {
+                this.pmdKnownBroken = true;
+                return null;
+            }
+            info = ParameterInfo.of(pmd);
+        } catch (SQLException e) {
+            if (isUnsupported(e)) {
+                this.pmdKnownBroken = true;
+                return null;
+            }
+            info = ParameterInfo.UNAVAILABLE;
+        }
+
+        if (sql != null) {
+            if (this.parameterInfos.size() >= MAX_CACHED_PARAMETER_INFOS) {
+                // Coarse bound that never blocks readers; hot SQL comes back on its next call
+                this.parameterInfos.clear();
+            }
+            this.parameterInfos.putIfAbsent(sql, info);
+        }
+        return info == ParameterInfo.UNAVAILABLE ? null : info;
+    }
+
+    /**
+     * @param e An exception thrown by the driver.
+     * @return Whether it reports a feature the driver doesn't support,
+     * rather than a failure of this call: a
+     * {@code SQLFeatureNotSupportedException}, SQLState class {@code 0A},
+     * or the ODBC style {@code HYC00} and {@code S1C00} "optional feature
+     * not implemented" states some drivers use.
+     */
+    static boolean isUnsupported(final SQLException e) {
+        final String state = e.getSQLState();
+        return e instanceof SQLFeatureNotSupportedException
+                || (state != null && (state.startsWith("0A") || state.equals("HYC00") || state.equals("S1C00")));
+    }
+
     /**
      * Fill the {@code PreparedStatement} replacement parameters with the
      * given object's bean property values.
@@ -108,34 +414,52 @@ public abstract class AbstractQueryRunner {
      */
     public void fillStatementWithBean(final PreparedStatement stmt, final Object bean,
                                       final String... propertyNames) throws SQLException {
-        // TODO
-        PropertyDescriptor[] properties;
-        try {
-            properties = Introspector.getBeanInfo(bean.getClass()).getPropertyDescriptors();
-        } catch (IntrospectionException e) {
-            throw new RuntimeException("Cannot introspect class " + bean.getClass().toString());
-        }
-        // we need to sort PropertyDescriptor according to propertyNames
-        PropertyDescriptor[] sorted = new PropertyDescriptor[propertyNames.length];
-        for (int i = 0; i < propertyNames.length; i++) {
-            String propertyName = propertyNames[i];
-            if (propertyName == null) {
-                throw new NullPointerException("Property name cannot be null");
-            }
-            boolean found = false;
-            for (PropertyDescriptor property : properties) {
-                if (propertyName.equals(property.getName())) {
-                    found = true;
-                    sorted[i] = property;
-                    break;
-                }
-            }
-            if (!found) {
-                throw new RuntimeException("Cannot find property with name " + propertyName
-                        + " in class" + bean.getClass().toString());
+        this.fillStatementWithBean(null, stmt, bean, propertyNames);
+    }
+
+    /**
+     * Fill the {@code PreparedStatement} replacement parameters with the
+     * given object's bean property values, through a binder compiled once
+     * per bean class and property list.
+     *
+     * @param sql           The SQL {@code stmt} was prepared with, or
+     *                      {@code null} if unknown.
+     * @param stmt          PreparedStatement to fill
+     * @param bean          A JavaBean object
+     * @param propertyNames An ordered array of property names
+     * @return The estimated size of the bound values in bytes.
+     * @throws SQLException If a database access error occurs
+     */
+    long fillStatementWithBean(final String sql, final PreparedStatement stmt, final Object bean,
+                               final String... propertyNames) throws SQLException {
+        final BeanBinder binder = this.beanBinder(bean.getClass(), propertyNames);
+        final ParameterInfo info = this.parameterInfo(sql, stmt);
+        if (info != null && info.count != binder.size()) {
+            throw new SQLException("Unmatched parameters number (expected " + info.count
+                    + ", actual " + binder.size() + ")");
+        }
+        return binder.bind(stmt, bean, info == null ? null : info.sqlTypes);
+    }
+
+    /**
+     * Returns the compiled binder for the given bean class and property
+     * names, building it on first use.
+     *
+     * @param type          The bean class.
+     * @param propertyNames The ordered property names.
+     * @return The cached binder.
+     */
+    BeanBinder beanBinder(final Class<?> type, final String... propertyNames) {
+        final ConcurrentMap<List<String>, BeanBinder> binders = this.beanBinders.get(type);
+        BeanBinder binder = binders.get(Arrays.asList(propertyNames));
+        if (binder == null) {
+            binder = BeanBinder.compile(type, propertyNames);
+            final BeanBinder existing = binders.putIfAbsent(Arrays.asList(propertyNames.clone()), binder);
+            if (existing != null) {
+                binder = existing;
             }
         }
-        fillStatementWithBean(stmt, bean, sorted);
+        return binder;
     }
 
     /**
@@ -173,6 +497,109 @@ public abstract class AbstractQueryRunner {
         throw e;
     }
 
+    /**
+     * Factory method that creates and initializes a {@code PreparedStatement}
+     * object for the given SQL.  The statement is taken from the statement
+     * cache when this runner has one, and must be released with
+     * {@link #close(Statement)}.
+     *
+     * @param conn The {@code Connection} used to create the
+     *             {@code PreparedStatement}
+     * @param sql  The SQL statement to prepare.
+     * @return An initialized {@code PreparedStatement}.
+     * @throws SQLException if a database access error occurs
+     */
+    protected PreparedStatement prepareStatement(final Connection conn, final String sql)
+            throws SQLException {
+        return this.prepareStatement(conn, sql, Statement.NO_GENERATED_KEYS,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    /**
+     * Factory method that creates and initializes a {@code PreparedStatement}
+     * object for the given SQL, optionally returning generated keys.
+     *
+     * @param conn         The {@code Connection} used to create the
+     *                     {@code PreparedStatement}
+     * @param sql          The SQL statement to prepare.
+     * @param returnedKeys Flag indicating whether to return generated keys or
+     *                     not.
+     * @return An initialized {@code PreparedStatement}.
+     * @throws SQLException if a database access error occurs
+     */
+    protected PreparedStatement prepareStatement(final Connection conn, final String sql, final int returnedKeys)
+            throws SQLException {
+        return this.prepareStatement(conn, sql, returnedKeys,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    /**
+     * Creates a {@code PreparedStatement} with the given options, through the
+     * statement cache if there is one.
+     */
+    PreparedStatement prepareStatement(final Connection conn, final String sql, final int returnedKeys,
+                                       final int resultSetType, final int resultSetConcurrency)
+            throws SQLException {
+        final FlightRecorderEvents.Prepare event = new FlightRecorderEvents.Prepare();
+        event.begin();
+        final PreparedStatement stmt = this.statementCache != null
+                ? this.statementCache.prepare(conn, sql, returnedKeys, resultSetType, resultSetConcurrency)
+                : newStatement(conn, sql, returnedKeys, resultSetType, resultSetConcurrency);
+        event.finish(sql, this.statementCache != null);
+        return stmt;
+    }
+
+    /**
+     * Calls the {@code prepareStatement} overload of {@code conn} matching
+     * the given options.
+     */
+    static PreparedStatement newStatement(final Connection conn, final String sql, final int returnedKeys,
+                                          final int resultSetType, final int resultSetConcurrency)
+            throws SQLException {
+        if (returnedKeys == Statement.RETURN_GENERATED_KEYS) {
+            return conn.prepareStatement(sql, returnedKeys);
+        }
+        if (resultSetType != ResultSet.TYPE_FORWARD_ONLY || resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
+            return conn.prepareStatement(sql, resultSetType, resultSetConcurrency);
+        }
+        return conn.prepareStatement(sql);
+    }
+
+    /**
+     * Close a {@code Statement}.  This implementation avoids closing if
+     * null and does <strong>not</strong> suppress any exceptions.  A
+     * statement that came from the statement cache is handed back to it
+     * instead of being closed.  Subclasses can override to provide special
+     * handling like logging.
+     *
+     * @param stmt Statement to close
+     * @throws SQLException if a database access error occurs
+     */
+    protected void close(final Statement stmt) throws SQLException {
+        if (stmt == null) {
+            return;
+        }
+        if (this.statementCache != null && stmt instanceof PreparedStatement
+                && this.statementCache.release((PreparedStatement) stmt)) {
+            return;
+        }
+        stmt.close();
+    }
+
+    /**
+     * Close a {@code ResultSet}.  This implementation avoids closing if
+     * null and does <strong>not</strong> suppress any exceptions.  Subclasses
+     * can override to provide special handling like logging.
+     *
+     * @param rs ResultSet to close
+     * @throws SQLException if a database access error occurs
+     */
+    protected void close(final ResultSet rs) throws SQLException {
+        if (rs != null) {
+            rs.close();
+        }
+    }
+
     /**
      * Wrap the {@code ResultSet} in a decorator before processing it. This
      * implementation returns the {@code ResultSet} it is given without any
@@ -199,5 +626,60 @@ public abstract class AbstractQueryRunner {
         return rs;
     }
 
-}
+    /**
+     * Sets one non-null parameter of a {@code PreparedStatement}.
+     */
+    @FunctionalInterface
+    interface ParameterBinder {
+
+        /**
+         * @param stmt The statement to fill.
+         * @param index The parameter index, starting at 1.
+         * @param value The non-null value to bind.
+         * @throws SQLException if a database access error occurs
+         */
+        void bind(PreparedStatement stmt, int index, Object value) throws SQLException;
+    }
+
+    /**
+     * The parameter count and SQL types of a statement.
+     */
+    private static final class ParameterInfo {
+
+        /**
+         * Cached for the SQL strings whose meta-data could not be read.
+         */
+        static final ParameterInfo UNAVAILABLE = new ParameterInfo(-1, null);
+
+        final int count;
 
+        /**
+         * The SQL type of each parameter, or {@code null} if the driver
+         * doesn't report them.
+         */
+        final int[] sqlTypes;
+
+        private ParameterInfo(final int count, final int[] sqlTypes) {
+            this.count = count;
+            this.sqlTypes = sqlTypes;
+        }
+
+        static ParameterInfo of(final ParameterMetaData pmd) throws SQLException {
+            final int count = pmd.getParameterCount();
+            int[] sqlTypes = new int[count];
+            try {
+                for (int i = 0; i < count; i++) {
+                    sqlTypes[i] = pmd.getParameterType(i + 1);
+                }
+            } catch (SQLException e) {
+                sqlTypes = null;
+            }
+            return new ParameterInfo(count, sqlTypes);
+        }
+
+        int sqlType(final int index) {
+            return this.sqlTypes == null ? Types.VARCHAR : this.sqlTypes[index];
+        }
+    }
+
+}
@@ -0,0 +1,308 @@
+package com.AliceTheCat;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes SQL queries asynchronously on a caller-supplied
+ * {@code Executor}, returning a {@code CompletableFuture} for each call.
+ * Every call takes its own connection from the {@code DataSource} and
+ * closes it when done, so independent queries can run side by side.
+ *
+ * <p>
+ * At most {@code maxInFlight} calls hold a connection at the same time;
+ * further calls wait in a queue without occupying an executor thread.
+ * Use one {@code AsyncQueryRunner} per {@code DataSource} so that the limit
+ * applies to the whole database.
+ * </p>
+ *
+ * <p>
+ * The futures complete exceptionally with the {@code SQLException} thrown
+ * by the {@link QueryRunner}.  This class is thread safe.
+ * </p>
+ *
+ * @see QueryRunner
+ */
+public class AsyncQueryRunner {
+
+    private final DataSource dataSource;
+
+    private final QueryRunner queryRunner;
+
+    private final Executor executor;
+
+    private final int maxInFlight;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Queue<Task<?>> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Constructor for AsyncQueryRunner.
+     *
+     * @param dataSource  The {@code DataSource} to retrieve connections from.
+     * @param executor    The {@code Executor} the calls run on.
+     * @param maxInFlight The maximum number of calls using a connection at
+     *                    the same time.
+     */
+    public AsyncQueryRunner(final DataSource dataSource, final Executor executor, final int maxInFlight) {
+        this(dataSource, new QueryRunner(), executor, maxInFlight);
+    }
+
+    /**
+     * Constructor for AsyncQueryRunner that runs the calls through the given
+     * {@code QueryRunner}, e.g. one with a {@link QueryCache} or a
+     * {@link MetricsListener}.  Each call gets its own connection from the
+     * {@code DataSource}, so a {@link StatementCache} of the runner only
+     * reuses statements within one call; the statements it cached for a
+     * connection are closed before the connection is.  Rely on the pool or
+     * driver to cache statements across calls.
+     *
+     * @param dataSource  The {@code DataSource} to retrieve connections from.
+     * @param queryRunner The {@code QueryRunner} executing the calls.
+     * @param executor    The {@code Executor} the calls run on.
+     * @param maxInFlight The maximum number of calls using a connection at
+     *                    the same time.
+     */
+    public AsyncQueryRunner(final DataSource dataSource, final QueryRunner queryRunner, final Executor executor,
+                            final int maxInFlight) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("DataSource cannot be null");
+        }
+        if (queryRunner == null) {
+            throw new IllegalArgumentException("QueryRunner cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.dataSource = dataSource;
+        this.queryRunner = queryRunner;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Returns an executor starting a new virtual thread for each task when
+     * the running JDK supports them, or a cached thread pool otherwise.
+     * Either way the number of threads busy with queries is bounded by
+     * {@code maxInFlight}.  The caller should shut it down when done.
+     *
+     * @return A new thread-per-task executor.
+     */
+    public static ExecutorService newThreadPerTaskExecutor() {
+        try {
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Execute an SQL SELECT query with replacement parameters.
+     *
+     * @param <T>    The type of object that the handler returns
+     * @param sql    The query to execute.
+     * @param rsh    The handler that converts the results into an object.
+     * @param params The replacement parameters.
+     * @return A future completed with the object returned by the handler.
+     * @see QueryRunner#query(Connection, String, ResultSetHandler, Object...)
+     */
+    public <T> CompletableFuture<T> query(final String sql, final ResultSetHandler<T> rsh, final Object... params) {
+        return this.submit(conn -> this.queryRunner.query(conn, sql, rsh, params));
+    }
+
+    /**
+     * Execute an SQL INSERT, UPDATE, or DELETE query.
+     *
+     * @param sql    The SQL to execute.
+     * @param params The query replacement parameters.
+     * @return A future completed with the number of rows updated.
+     * @see QueryRunner#update(Connection, String, Object...)
+     */
+    public CompletableFuture<Integer> update(final String sql, final Object... params) {
+        return this.submit(conn -> this.queryRunner.update(conn, sql, params));
+    }
+
+    /**
+     * Executes the given INSERT SQL statement.
+     *
+     * @param <T>    The type of object that the handler returns
+     * @param sql    The SQL statement to execute.
+     * @param rsh    The handler used to create the result object from
+     *               the {@code ResultSet} of auto-generated keys.
+     * @param params The query replacement parameters.
+     * @return A future completed with the object generated by the handler.
+     * @see QueryRunner#insert(Connection, String, ResultSetHandler, Object...)
+     */
+    public <T> CompletableFuture<T> insert(final String sql, final ResultSetHandler<T> rsh, final Object... params) {
+        return this.submit(conn -> this.queryRunner.insert(conn, sql, rsh, params));
+    }
+
+    /**
+     * Executes the given INSERT SQL statement for every row of
+     * {@code params}, in chunks of the default size.
+     *
+     * @param <K>       The type of the generated keys.
+     * @param sql       The SQL statement to execute.
+     * @param keyMapper The mapper used to convert each generated key row, or
+     *                  {@code null} if keys are not needed.
+     * @param params    The query replacement parameters, one row per insert.
+     * @return A future completed with the generated keys of all rows.
+     * @see QueryRunner#insertBatch(Connection, String, RowMapper, Object[][])
+     */
+    public <K> CompletableFuture<List<K>> insertBatch(final String sql, final RowMapper<K> keyMapper,
+                                                      final Object[][] params) {
+        return this.submit(conn -> this.queryRunner.insertBatch(conn, sql, keyMapper, params));
+    }
+
+    /**
+     * Executes the given INSERT SQL statement for every row of
+     * {@code params}, in the chunks bounded by {@code config}.
+     *
+     * @param <K>       The type of the generated keys.
+     * @param sql       The SQL statement to execute.
+     * @param keyMapper The mapper used to convert each generated key row, or
+     *                  {@code null} if keys are not needed.
+     * @param params    The query replacement parameters, one row per insert.
+     * @param config    The chunking configuration.
+     * @return A future completed with the generated keys of all rows.
+     * @see QueryRunner#insertBatch(Connection, String, RowMapper, Object[][], BatchConfiguration)
+     */
+    public <K> CompletableFuture<List<K>> insertBatch(final String sql, final RowMapper<K> keyMapper,
+                                                      final Object[][] params, final BatchConfiguration config) {
+        return this.submit(conn -> this.queryRunner.insertBatch(conn, sql, keyMapper, params, config));
+    }
+
+    /**
+     * @return The {@code DataSource} connections are taken from.
+     */
+    public DataSource getDataSource() {
+        return this.dataSource;
+    }
+
+    /**
+     * @return The number of calls currently using a connection.
+     */
+    public int getInFlightCount() {
+        return this.inFlight.get();
+    }
+
+    /**
+     * @return The number of calls waiting for one of the
+     * {@code maxInFlight} slots.
+     */
+    public int getQueuedCount() {
+        return this.pending.size();
+    }
+
+    /**
+     * Queues a call and starts it as soon as a slot is free.
+     *
+     * @param call The call to run with a fresh connection.
+     * @return The future of the call.
+     */
+    private <T> CompletableFuture<T> submit(final SqlCall<T> call) {
+        final Task<T> task = new Task<>(call);
+        this.pending.add(task);
+        this.dispatch();
+        return task.future;
+    }
+
+    /**
+     * Hands queued calls to the executor while slots are free.
+     */
+    private void dispatch() {
+        while (!this.pending.isEmpty()) {
+            final int running = this.inFlight.get();
+            if (running >= this.maxInFlight) {
+                return;
+            }
+            if (!this.inFlight.compareAndSet(running, running + 1)) {
+                continue;
+            }
+
+            final Task<?> task = this.pending.poll();
+            if (task == null) {
+                this.inFlight.decrementAndGet();
+                continue;
+            }
+            try {
+                this.executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        this.inFlight.decrementAndGet();
+                        this.dispatch();
+                    }
+                });
+            } catch (RuntimeException e) {
+                // e.g. RejectedExecutionException: fail the call rather than leave it pending forever
+                this.inFlight.decrementAndGet();
+                task.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * A call run with a connection from the {@code DataSource}.
+     *
+     * @param <T> The result type.
+     */
+    @FunctionalInterface
+    private interface SqlCall<T> {
+
+        T call(Connection conn) throws SQLException;
+    }
+
+    /**
+     * A queued call and its future.
+     *
+     * @param <T> The result type.
+     */
+    private final class Task<T> {
+
+        private final SqlCall<T> call;
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Task(final SqlCall<T> call) {
+            this.call = call;
+        }
+
+        void run() {
+            if (this.future.isDone()) {
+                // cancelled while queued
+                return;
+            }
+            final StatementCache statementCache = AsyncQueryRunner.this.queryRunner.getStatementCache();
+            try (Connection conn = AsyncQueryRunner.this.dataSource.getConnection()) {
+                final T result;
+                try {
+                    result = this.call.call(conn);
+                } finally {
+                    if (statementCache != null) {
+                        // the next call gets another connection, often another pool proxy
+                        statementCache.close(conn);
+                    }
+                }
+                this.future.complete(result);
+            } catch (Throwable t) {
+                this.future.completeExceptionally(t);
+            }
+        }
+    }
+}
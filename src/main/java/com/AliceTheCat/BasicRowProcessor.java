@@ -1,7 +1,9 @@
 package com.AliceTheCat;
 
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -41,7 +43,7 @@ public class BasicRowProcessor implements RowProcessor {
      * bean properties.
      * @since DbUtils 1.1
      */
-    private BasicRowProcessor(final BeanProcessor convert) {
+    public BasicRowProcessor(final BeanProcessor convert) {
         super();
         this.convert = convert;
     }
@@ -57,8 +59,7 @@ public class BasicRowProcessor implements RowProcessor {
      * @return the newly created array
      */
     public Object[] toArray(final ResultSet rs) throws SQLException {
-        // TODO
-        return null;
+        return this.values(rs, rs.getMetaData().getColumnCount());
     }
 
     /**
@@ -90,6 +91,22 @@ public class BasicRowProcessor implements RowProcessor {
         return this.convert.toBeanList(rs, type);
     }
 
+    /**
+     * Returns a {@code RowMapper} that creates JavaBeans from the rows of a
+     * {@code ResultSet} with the given columns.  This implementation
+     * delegates to a BeanProcessor instance.
+     * @param <T> The type of bean to create
+     * @param rsmd The meta-data of the {@code ResultSet} the mapper is used on
+     * @param type Class from which to create the bean instances
+     * @throws SQLException if a database access error occurs
+     * @return the mapper
+     */
+    @Override
+    public <T> RowMapper<T> beanMapper(final ResultSetMetaData rsmd, final Class<? extends T> type)
+            throws SQLException {
+        return this.convert.beanMapper(rsmd, type);
+    }
+
     /**
      * Convert a {@code ResultSet} row into a {@code Map}.
      *
@@ -100,12 +117,55 @@ public class BasicRowProcessor implements RowProcessor {
      * the entry set of the returned map will return the first column of the ResultSet, then the second and so forth.
      * </p>
      *
+     * <p>
+     * The returned map is read-only.
+     * </p>
+     *
      * @param rs ResultSet that supplies the map data
      * @return the newly created Map
      * @throws SQLException if a database access error occurs
      */
     public Map<String, Object> toMap(final ResultSet rs) throws SQLException {
-        return null;
+        final ResultSetMetaData rsmd = rs.getMetaData();
+        return new RowMap(new RowMap.Columns(rsmd), this.values(rs, rsmd.getColumnCount()));
+    }
+
+    /**
+     * Convert a {@code ResultSet} into a {@code List} of {@code Map}s, as
+     * {@link #toMap(ResultSet)} would convert each row.  The column names
+     * and their case insensitive index are computed once and shared by all
+     * the maps, so each row only stores its values.
+     *
+     * @param rs ResultSet that supplies the map data
+     * @return A {@code List} of read-only maps in the order they were
+     * returned by the {@code ResultSet}.
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public List<Map<String, Object>> toMapList(final ResultSet rs) throws SQLException {
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        if (!rs.next()) {
+            return rows;
+        }
+
+        final ResultSetMetaData rsmd = rs.getMetaData();
+        final RowMap.Columns columns = new RowMap.Columns(rsmd);
+        final int cols = rsmd.getColumnCount();
+        do {
+            rows.add(new RowMap(columns, this.values(rs, cols)));
+        } while (rs.next());
+        return rows;
+    }
+
+    /**
+     * Reads the values of the current row.
+     */
+    private Object[] values(final ResultSet rs, final int cols) throws SQLException {
+        final Object[] values = new Object[cols];
+        for (int i = 0; i < cols; i++) {
+            values[i] = rs.getObject(i + 1);
+        }
+        return values;
     }
 }
 
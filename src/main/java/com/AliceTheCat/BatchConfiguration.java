@@ -0,0 +1,131 @@
+package com.AliceTheCat;
+
+/**
+ * Configuration options for executing a batch in chunks.  A chunk is sent
+ * to the database as soon as it reaches either the row limit or the
+ * estimated byte limit, so the driver never buffers more than one chunk.
+ *
+ * <p>
+ * Instances are immutable; use {@link Builder} to create them.
+ * </p>
+ */
+public class BatchConfiguration {
+
+    /**
+     * The number of rows per chunk when none is configured.
+     */
+    public static final int DEFAULT_CHUNK_ROWS = 1000;
+
+    private final int chunkRows;
+
+    private final long chunkBytes;
+
+    private final boolean commitEachChunk;
+
+    private final BatchProgressListener progressListener;
+
+    private BatchConfiguration(final int chunkRows, final long chunkBytes, final boolean commitEachChunk,
+                               final BatchProgressListener progressListener) {
+        this.chunkRows = chunkRows;
+        this.chunkBytes = chunkBytes;
+        this.commitEachChunk = commitEachChunk;
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * @return The maximum number of rows per chunk.
+     */
+    public int getChunkRows() {
+        return this.chunkRows;
+    }
+
+    /**
+     * @return The maximum estimated size of a chunk in bytes, or 0 if chunks
+     * are only bounded by rows.
+     */
+    public long getChunkBytes() {
+        return this.chunkBytes;
+    }
+
+    /**
+     * @return Whether the connection is committed after each chunk when it
+     * is not in auto-commit mode.
+     */
+    public boolean isCommitEachChunk() {
+        return this.commitEachChunk;
+    }
+
+    /**
+     * @return The listener notified after each chunk, or {@code null}.
+     */
+    public BatchProgressListener getProgressListener() {
+        return this.progressListener;
+    }
+
+    /**
+     * Builder class for {@code BatchConfiguration} for more flexible
+     * construction.
+     */
+    public static final class Builder {
+
+        private int chunkRows = DEFAULT_CHUNK_ROWS;
+
+        private long chunkBytes;
+
+        private boolean commitEachChunk;
+
+        private BatchProgressListener progressListener;
+
+        /**
+         * @param chunkRows The maximum number of rows per chunk.
+         * @return This builder for chaining.
+         */
+        public Builder chunkRows(final int chunkRows) {
+            if (chunkRows <= 0) {
+                throw new IllegalArgumentException("chunkRows must be positive");
+            }
+            this.chunkRows = chunkRows;
+            return this;
+        }
+
+        /**
+         * @param chunkBytes The maximum estimated size of a chunk in bytes,
+         *                   or 0 to bound chunks by rows only.
+         * @return This builder for chaining.
+         */
+        public Builder chunkBytes(final long chunkBytes) {
+            if (chunkBytes < 0) {
+                throw new IllegalArgumentException("chunkBytes cannot be negative");
+            }
+            this.chunkBytes = chunkBytes;
+            return this;
+        }
+
+        /**
+         * @param commitEachChunk Whether to commit after each chunk when the
+         *                        connection is not in auto-commit mode.
+         * @return This builder for chaining.
+         */
+        public Builder commitEachChunk(final boolean commitEachChunk) {
+            this.commitEachChunk = commitEachChunk;
+            return this;
+        }
+
+        /**
+         * @param progressListener The listener notified after each chunk.
+         * @return This builder for chaining.
+         */
+        public Builder progressListener(final BatchProgressListener progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        /**
+         * @return A new and configured {@link BatchConfiguration}.
+         */
+        public BatchConfiguration build() {
+            return new BatchConfiguration(this.chunkRows, this.chunkBytes, this.commitEachChunk,
+                    this.progressListener);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.AliceTheCat;
+
+/**
+ * Receives progress notifications from a chunked batch execution.
+ *
+ * @see BatchConfiguration
+ */
+@FunctionalInterface
+public interface BatchProgressListener {
+
+    /**
+     * Called after each chunk has been executed (and committed, if the batch
+     * commits per chunk).
+     *
+     * @param rowsExecuted The number of rows executed so far.
+     * @param totalRows The total number of rows in the batch.
+     */
+    void chunkExecuted(long rowsExecuted, long totalRows);
+
+}
@@ -0,0 +1,193 @@
+package com.AliceTheCat;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+/**
+ * A compiled binding from an ordered list of bean properties to the
+ * replacement parameters of a {@code PreparedStatement}.  The getters are
+ * resolved to {@code MethodHandle}s and the setter used for each property
+ * type is chosen once, so binding a bean is a fixed sequence of getter and
+ * setter calls.  For a class with a {@link GeneratedMapper}, the getters
+ * are called by the generated code instead.
+ *
+ * <p>
+ * Instances are created and cached by {@link AbstractQueryRunner}.  This
+ * class is thread-safe.
+ * </p>
+ */
+final class BeanBinder {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final Method[] readMethods;
+
+    private final MethodHandle[] getters;
+
+    /**
+     * The binder for each property, or {@code null} where it depends on the
+     * runtime class of the value.
+     */
+    private final AbstractQueryRunner.ParameterBinder[] binders;
+
+    /**
+     * The generated mapper reading the properties, or {@code null}.
+     */
+    private final GeneratedMapper<Object> generated;
+
+    /**
+     * The position of each property in the readable properties of
+     * {@link #generated}.
+     */
+    private final int[] properties;
+
+    private BeanBinder(final Method[] readMethods, final MethodHandle[] getters,
+                       final AbstractQueryRunner.ParameterBinder[] binders) {
+        this.readMethods = readMethods;
+        this.getters = getters;
+        this.binders = binders;
+        this.generated = null;
+        this.properties = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private BeanBinder(final GeneratedMapper<?> generated, final int[] properties) {
+        this.readMethods = null;
+        this.getters = null;
+        this.binders = new AbstractQueryRunner.ParameterBinder[properties.length];
+        this.generated = (GeneratedMapper<Object>) generated;
+        this.properties = properties;
+    }
+
+    /**
+     * Builds the binder for the given bean class and properties.
+     *
+     * @param type The bean class.
+     * @param propertyNames The ordered property names.
+     * @return The compiled binder.
+     */
+    static BeanBinder compile(final Class<?> type, final String[] propertyNames) {
+        final GeneratedMapper<?> generated = BeanProcessor.generatedMapper(type);
+        if (generated != null) {
+            return compile(generated, propertyNames);
+        }
+
+        final PropertyDescriptor[] properties;
+        try {
+            properties = Introspector.getBeanInfo(type).getPropertyDescriptors();
+        } catch (IntrospectionException e) {
+            throw new RuntimeException("Cannot introspect class " + type.toString());
+        }
+
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final Method[] readMethods = new Method[propertyNames.length];
+        final MethodHandle[] getters = new MethodHandle[propertyNames.length];
+        final AbstractQueryRunner.ParameterBinder[] binders =
+                new AbstractQueryRunner.ParameterBinder[propertyNames.length];
+
+        for (int i = 0; i < propertyNames.length; i++) {
+            final String propertyName = propertyNames[i];
+            if (propertyName == null) {
+                throw new NullPointerException("Property name cannot be null");
+            }
+            PropertyDescriptor property = null;
+            for (final PropertyDescriptor candidate : properties) {
+                if (propertyName.equals(candidate.getName())) {
+                    property = candidate;
+                    break;
+                }
+            }
+            if (property == null) {
+                throw new RuntimeException("Cannot find property with name " + propertyName
+                        + " in class" + type.toString());
+            }
+
+            final Method readMethod = property.getReadMethod();
+            if (readMethod == null) {
+                throw new RuntimeException("No read method for property " + property.getName()
+                        + " in class " + type);
+            }
+            readMethods[i] = readMethod;
+            try {
+                getters[i] = lookup.unreflect(readMethod).asType(GETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Couldn't invoke method: " + readMethod, e);
+            }
+            binders[i] = AbstractQueryRunner.parameterBinderForType(readMethod.getReturnType());
+        }
+
+        return new BeanBinder(readMethods, getters, binders);
+    }
+
+    private static BeanBinder compile(final GeneratedMapper<?> generated, final String[] propertyNames) {
+        final String[] readable = generated.readableProperties();
+        final int[] properties = new int[propertyNames.length];
+        for (int i = 0; i < propertyNames.length; i++) {
+            final String propertyName = propertyNames[i];
+            if (propertyName == null) {
+                throw new NullPointerException("Property name cannot be null");
+            }
+            properties[i] = Arrays.asList(readable).indexOf(propertyName);
+            if (properties[i] < 0) {
+                throw new RuntimeException("Cannot find property with name " + propertyName
+                        + " in class" + generated.type().toString());
+            }
+        }
+        return new BeanBinder(generated, properties);
+    }
+
+    /**
+     * @return The number of parameters bound.
+     */
+    int size() {
+        return this.binders.length;
+    }
+
+    /**
+     * Binds the properties of {@code bean} to the statement parameters.
+     *
+     * @param stmt The statement to fill.
+     * @param bean The bean to read.
+     * @param nullTypes The SQL type of each parameter, used for null values,
+     * or {@code null} to bind nulls as {@code VARCHAR}.
+     * @return The estimated size of the bound values in bytes.
+     * @throws SQLException if a database access error occurs
+     */
+    long bind(final PreparedStatement stmt, final Object bean, final int[] nullTypes) throws SQLException {
+        long size = 0;
+        for (int i = 0; i < this.binders.length; i++) {
+            final Object value = this.generated != null
+                    ? this.generated.read(bean, this.properties[i])
+                    : this.get(i, bean);
+
+            if (value == null) {
+                stmt.setNull(i + 1, nullTypes == null ? Types.VARCHAR : nullTypes[i]);
+            } else {
+                final AbstractQueryRunner.ParameterBinder binder = this.binders[i];
+                (binder != null ? binder : AbstractQueryRunner.parameterBinder(value.getClass()))
+                        .bind(stmt, i + 1, value);
+            }
+            size += AbstractQueryRunner.estimateSize(value);
+        }
+        return size;
+    }
+
+    private Object get(final int i, final Object bean) {
+        try {
+            return this.getters[i].invokeExact(bean);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException("Couldn't invoke method: " + this.readMethods[i], t);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.AliceTheCat;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the constructor {@link BeanProcessor} creates beans with, passing
+ * the columns matching its parameters as arguments.  Parameters are matched
+ * to columns by their {@link ColumnName}, their
+ * {@link java.beans.ConstructorProperties} name or, for classes compiled
+ * with {@code -parameters}, their declared name.
+ *
+ * <p>
+ * At most one public constructor of a class may carry this annotation.
+ * </p>
+ *
+ * @see BeanProcessor#toBean(java.sql.ResultSet, Class)
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.CONSTRUCTOR)
+public @interface BeanConstructor {
+}
@@ -0,0 +1,1264 @@
+package com.AliceTheCat;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compiled mapping from the columns of a {@code ResultSet} to the
+ * properties or fields of one bean class.  All the reflective work (finding
+ * the constructor and the setters, checking parameter types) is done once
+ * when the mapper is built, so converting a row is a fixed sequence of
+ * {@code MethodHandle} calls.
+ *
+ * <p>
+ * Beans are either created with their no-arg constructor and populated
+ * through setters, or created with a {@link Creator} constructor taking
+ * column values.  In the latter case the constructor and the column reads
+ * of its arguments are combined into a single {@code (ResultSet)Object}
+ * handle, so that a row is one constructor call; setters are then called
+ * for the remaining columns.
+ * </p>
+ *
+ * <p>
+ * A mapper may instead delegate to a {@link GeneratedMapper}, in which
+ * case no reflection is involved at all.
+ * </p>
+ *
+ * <p>
+ * Instances are created and cached by {@link BeanProcessor}.  This class is
+ * thread-safe.
+ * </p>
+ *
+ * @param <T> the target bean type
+ */
+final class BeanMapper<T> {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodType ROW_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, ResultSet.class);
+
+    private static final MethodType ARRAY_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private static final ArgumentReader[] NO_ARGUMENTS = new ArgumentReader[0];
+
+    /**
+     * {@link ArgumentReader#readConverted(ResultSet)}.
+     */
+    private static final MethodHandle READ_CONVERTED;
+
+    static {
+        try {
+            READ_CONVERTED = MethodHandles.lookup().findVirtual(ArgumentReader.class, "readConverted",
+                    MethodType.methodType(Object.class, ResultSet.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final BeanProcessor processor;
+
+    private final Class<T> type;
+
+    /**
+     * The no-arg constructor adapted to {@code ()Object}, or {@code null} if
+     * the processor overrides {@link BeanProcessor#newInstance(Class)}.
+     */
+    private final MethodHandle constructor;
+
+    /**
+     * The constructor taking column values, adapted to
+     * {@code (ResultSet)Object}, or {@code null} if beans are created empty.
+     */
+    private final MethodHandle rowConstructor;
+
+    /**
+     * The same constructor adapted to {@code (Object[])Object}, for rows
+     * read by {@link #readRow(ResultSet)}.
+     */
+    private final MethodHandle arrayConstructor;
+
+    /**
+     * The constructor taking column values as declared, or {@code null}.
+     */
+    private final MethodHandle creator;
+
+    /**
+     * The readers of the constructor arguments, in parameter order.
+     */
+    private final ArgumentReader[] arguments;
+
+    /**
+     * The writers of all the columns matching a setter, used to populate
+     * an existing bean.
+     */
+    private final PropertyWriter[] writers;
+
+    /**
+     * The writers of the columns not passed to the constructor, used on the
+     * beans this mapper creates.
+     */
+    private final PropertyWriter[] remainingWriters;
+
+    /**
+     * The generated mapper rows are delegated to, or {@code null}.
+     */
+    private final GeneratedMapper<T> generated;
+
+    /**
+     * The column index of each writable property of {@link #generated}, or
+     * 0 where no column matches.
+     */
+    private final int[] columns;
+
+    /**
+     * The deduplication of {@code String} columns, or {@code null}.
+     */
+    private final StringDeduplication deduplication;
+
+    /**
+     * The positions in {@link #writers} of the {@code String} writers to
+     * deduplicate.
+     */
+    private final int[] deduplicated;
+
+    /**
+     * The column labels of {@link #deduplicated}.
+     */
+    private final String[] deduplicatedLabels;
+
+    /**
+     * The positions in {@link #arguments} of the {@code String} arguments
+     * to deduplicate.
+     */
+    private final int[] deduplicatedArguments;
+
+    /**
+     * The column labels of {@link #deduplicatedArguments}.
+     */
+    private final String[] deduplicatedArgumentLabels;
+
+    private BeanMapper(final BeanProcessor processor, final Class<T> type, final MethodHandle constructor,
+                       final MethodHandle creator, final MethodHandle rowConstructor,
+                       final MethodHandle arrayConstructor, final ArgumentReader[] arguments,
+                       final PropertyWriter[] writers, final PropertyWriter[] remainingWriters) {
+        this.processor = processor;
+        this.type = type;
+        this.constructor = constructor;
+        this.creator = creator;
+        this.rowConstructor = rowConstructor;
+        this.arrayConstructor = arrayConstructor;
+        this.arguments = arguments;
+        this.writers = writers;
+        this.remainingWriters = remainingWriters;
+        this.generated = null;
+        this.columns = null;
+        this.deduplication = null;
+        this.deduplicated = null;
+        this.deduplicatedLabels = null;
+        this.deduplicatedArguments = null;
+        this.deduplicatedArgumentLabels = null;
+    }
+
+    private BeanMapper(final BeanMapper<T> source, final StringDeduplication deduplication,
+                       final int[] deduplicated, final String[] deduplicatedLabels,
+                       final int[] deduplicatedArguments, final String[] deduplicatedArgumentLabels) {
+        this.processor = source.processor;
+        this.type = source.type;
+        this.constructor = source.constructor;
+        this.creator = source.creator;
+        this.rowConstructor = source.rowConstructor;
+        this.arrayConstructor = source.arrayConstructor;
+        this.arguments = source.arguments;
+        this.writers = source.writers;
+        this.remainingWriters = source.remainingWriters;
+        this.generated = null;
+        this.columns = null;
+        this.deduplication = deduplication;
+        this.deduplicated = deduplicated;
+        this.deduplicatedLabels = deduplicatedLabels;
+        this.deduplicatedArguments = deduplicatedArguments;
+        this.deduplicatedArgumentLabels = deduplicatedArgumentLabels;
+    }
+
+    private BeanMapper(final BeanMapper<T> source, final MethodHandle rowConstructor,
+                       final ArgumentReader[] arguments, final PropertyWriter[] writers,
+                       final PropertyWriter[] remainingWriters) {
+        this(source.processor, source.type, source.constructor, source.creator, rowConstructor,
+                source.arrayConstructor, arguments, writers, remainingWriters);
+    }
+
+    private BeanMapper(final BeanProcessor processor, final GeneratedMapper<T> generated, final int[] columns) {
+        this.processor = processor;
+        this.type = generated.type();
+        this.constructor = null;
+        this.creator = null;
+        this.rowConstructor = null;
+        this.arrayConstructor = null;
+        this.arguments = NO_ARGUMENTS;
+        this.writers = null;
+        this.remainingWriters = null;
+        this.generated = generated;
+        this.columns = columns;
+        this.deduplication = null;
+        this.deduplicated = null;
+        this.deduplicatedLabels = null;
+        this.deduplicatedArguments = null;
+        this.deduplicatedArgumentLabels = null;
+    }
+
+    /**
+     * Builds a mapper delegating to a generated one.
+     *
+     * @param <T> The type of bean to create
+     * @param processor The processor the mapper belongs to.
+     * @param generated The generated mapper.
+     * @param columnToProperty The column to writable property mapping built
+     * by {@link BeanProcessor#mapColumnsToProperties}.
+     * @return The mapper.
+     */
+    static <T> BeanMapper<T> generated(final BeanProcessor processor, final GeneratedMapper<T> generated,
+                                       final int[] columnToProperty) {
+        final int[] columns = new int[generated.writableProperties().length];
+        for (int i = 1; i < columnToProperty.length; i++) {
+            if (columnToProperty[i] != BeanProcessor.PROPERTY_NOT_FOUND) {
+                columns[columnToProperty[i]] = i;
+            }
+        }
+        return new BeanMapper<>(processor, generated, columns);
+    }
+
+    /**
+     * Builds the mapper for {@code type} and the given column layout.
+     *
+     * @param <T> The type of bean to create
+     * @param processor The processor that supplies column conversion and, if
+     * overridden, bean instantiation.
+     * @param type The bean type.
+     * @param accessors The properties or fields of {@code type}.
+     * @param columnToProperty The column to accessor mapping built by
+     * {@link BeanProcessor#mapColumnsToProperties}.
+     * @param creator The constructor taking column values, or {@code null}
+     * to create beans empty.
+     * @param columnToParameter The column to {@code creator} parameter
+     * mapping, or {@code null} if there is no creator.
+     * @param useConstructor False if beans must be created through
+     * {@link BeanProcessor#newInstance(Class)}.
+     * @param useTypedGetters False if columns must be converted through
+     * {@link BeanProcessor#processColumn}.
+     * @return The compiled mapper.
+     * @throws SQLException if the constructor or a setter cannot be accessed.
+     */
+    static <T> BeanMapper<T> compile(final BeanProcessor processor, final Class<T> type,
+                                     final Accessor[] accessors, final int[] columnToProperty,
+                                     final Creator creator, final int[] columnToParameter,
+                                     final boolean useConstructor, final boolean useTypedGetters)
+            throws SQLException {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        MethodHandle constructor = null;
+        MethodHandle target = null;
+        MethodHandle rowConstructor = null;
+        MethodHandle arrayConstructor = null;
+        ArgumentReader[] arguments = NO_ARGUMENTS;
+        if (creator != null) {
+            final Class<?>[] parameterTypes = creator.constructor.getParameterTypes();
+            final int[] parameterToColumn = new int[parameterTypes.length];
+            for (int i = 1; i < columnToParameter.length; i++) {
+                if (columnToParameter[i] != BeanProcessor.PROPERTY_NOT_FOUND) {
+                    parameterToColumn[columnToParameter[i]] = i;
+                }
+            }
+
+            arguments = new ArgumentReader[parameterTypes.length];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = new ArgumentReader(processor, parameterToColumn[i], creator.names[i],
+                        parameterTypes[i], useTypedGetters);
+            }
+
+            try {
+                target = lookup.unreflectConstructor(creator.constructor);
+            } catch (IllegalAccessException e) {
+                throw new SQLException("Cannot create " + type.getName(), e);
+            }
+            rowConstructor = rowConstructor(lookup, type, target, arguments);
+            arrayConstructor = target.asSpreader(Object[].class, arguments.length).asType(ARRAY_CONSTRUCTOR_TYPE);
+        } else if (useConstructor) {
+            try {
+                constructor = lookup.unreflectConstructor(type.getDeclaredConstructor()).asType(CONSTRUCTOR_TYPE);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new SQLException("Cannot create " + type.getName(), e);
+            }
+        }
+
+        final List<PropertyWriter> writers = new ArrayList<>();
+        final List<PropertyWriter> remainingWriters = new ArrayList<>();
+        for (int i = 1; i < columnToProperty.length; i++) {
+            if (columnToProperty[i] == BeanProcessor.PROPERTY_NOT_FOUND) {
+                continue;
+            }
+
+            final Accessor accessor = accessors[columnToProperty[i]];
+            final MethodHandle handle = accessor.setter(lookup);
+            if (handle == null) {
+                continue;
+            }
+            final PropertyWriter writer =
+                    writer(processor, i, accessor.name, accessor.type, handle, useTypedGetters);
+            writers.add(writer);
+            if (columnToParameter == null || columnToParameter[i] == BeanProcessor.PROPERTY_NOT_FOUND) {
+                remainingWriters.add(writer);
+            }
+        }
+
+        return new BeanMapper<>(processor, type, constructor, target, rowConstructor, arrayConstructor, arguments,
+                writers.toArray(new PropertyWriter[0]), remainingWriters.toArray(new PropertyWriter[0]));
+    }
+
+    /**
+     * @return A handle of type {@code (ResultSet)Object} calling
+     * {@code target} with the arguments read by {@code arguments}.
+     */
+    private static MethodHandle rowConstructor(final MethodHandles.Lookup lookup, final Class<?> type,
+                                               final MethodHandle target, final ArgumentReader[] arguments)
+            throws SQLException {
+        final MethodHandle[] readers = new MethodHandle[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            readers[i] = arguments[i].handle(lookup);
+        }
+        // (ResultSet, ..., ResultSet)T with each argument read by its
+        // filter, then the ResultSet parameters merged into one
+        return MethodHandles.permuteArguments(
+                MethodHandles.filterArguments(target, 0, readers),
+                MethodType.methodType(type, ResultSet.class), new int[readers.length])
+                .asType(ROW_CONSTRUCTOR_TYPE);
+    }
+
+    /**
+     * Chooses how a column is read and written.  The {@code ColumnHandler}
+     * and {@code PropertyHandler}s that apply to the column are resolved
+     * here, once.  Primitive properties without handlers are read with the
+     * matching primitive getter and passed to the setter without boxing.
+     */
+    private static PropertyWriter writer(final BeanProcessor processor, final int column, final String name,
+                                         final Class<?> propType, final MethodHandle setter,
+                                         final boolean useTypedGetters) {
+        final PropertyHandler[] propertyHandlers = processor.propertyHandlers();
+        if (!useTypedGetters) {
+            return new ObjectWriter(column, name, propType, setter,
+                    (rs, index) -> processor.processColumn(rs, index, propType), propertyHandlers);
+        }
+
+        if (propertyHandlers.length == 0 && !processor.hasColumnHandler(propType)) {
+            if (propType == Integer.TYPE) {
+                return new IntWriter(column, name, setter);
+            } else if (propType == Long.TYPE) {
+                return new LongWriter(column, name, setter);
+            } else if (propType == Double.TYPE) {
+                return new DoubleWriter(column, name, setter);
+            } else if (propType == Float.TYPE) {
+                return new FloatWriter(column, name, setter);
+            } else if (propType == Short.TYPE) {
+                return new ShortWriter(column, name, setter);
+            } else if (propType == Byte.TYPE) {
+                return new ByteWriter(column, name, setter);
+            } else if (propType == Boolean.TYPE) {
+                return new BooleanWriter(column, name, setter);
+            }
+        }
+
+        return new ObjectWriter(column, name, propType, setter, processor.columnReader(propType), propertyHandlers);
+    }
+
+    /**
+     * Returns this mapper set up to deduplicate the {@code String} columns
+     * selected by {@code deduplication}, whether they go to a setter, a
+     * field or a constructor argument.
+     *
+     * @param deduplication The deduplication settings.
+     * @param labels The column labels, indexed from 1.
+     * @return The mapper, or this one if no column is deduplicated.
+     */
+    BeanMapper<T> withDeduplication(final StringDeduplication deduplication, final String[] labels) {
+        if (this.generated != null) {
+            return this;
+        }
+        final List<Integer> deduplicated = new ArrayList<>();
+        for (int i = 0; i < this.writers.length; i++) {
+            final PropertyWriter writer = this.writers[i];
+            if (writer instanceof ObjectWriter && ((ObjectWriter) writer).propType == String.class
+                    && deduplication.applies(labels[writer.column])) {
+                deduplicated.add(i);
+            }
+        }
+        final List<Integer> deduplicatedArguments = new ArrayList<>();
+        for (int i = 0; i < this.arguments.length; i++) {
+            final ArgumentReader argument = this.arguments[i];
+            if (argument.column != 0 && argument.type == String.class
+                    && deduplication.applies(labels[argument.column])) {
+                deduplicatedArguments.add(i);
+            }
+        }
+        if (deduplicated.isEmpty() && deduplicatedArguments.isEmpty()) {
+            return this;
+        }
+        final int[] positions = new int[deduplicated.size()];
+        final String[] positionLabels = new String[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = deduplicated.get(i);
+            positionLabels[i] = labels[this.writers[positions[i]].column];
+        }
+        final int[] argumentPositions = new int[deduplicatedArguments.size()];
+        final String[] argumentLabels = new String[argumentPositions.length];
+        for (int i = 0; i < argumentPositions.length; i++) {
+            argumentPositions[i] = deduplicatedArguments.get(i);
+            argumentLabels[i] = labels[this.arguments[argumentPositions[i]].column];
+        }
+        return new BeanMapper<>(this, deduplication, positions, positionLabels, argumentPositions, argumentLabels);
+    }
+
+    /**
+     * Returns the mapper to use for the rows of one result: this one, or a
+     * copy whose {@code String} writers and constructor arguments
+     * deduplicate through tables that live as long as the copy.  The copy
+     * must only be used by one thread at a time.
+     *
+     * @return The mapper.
+     * @throws SQLException if the constructor cannot be adapted.
+     */
+    BeanMapper<T> forQuery() throws SQLException {
+        if (this.deduplication == null) {
+            return this;
+        }
+        final PropertyWriter[] writers = this.writers.clone();
+        final PropertyWriter[] remainingWriters = this.remainingWriters.clone();
+        for (int i = 0; i < this.deduplicated.length; i++) {
+            final PropertyWriter writer = writers[this.deduplicated[i]];
+            final PropertyWriter copy = ((ObjectWriter) writer).deduplicating(
+                    this.deduplication.newTable(this.deduplicatedLabels[i]));
+            writers[this.deduplicated[i]] = copy;
+            for (int j = 0; j < remainingWriters.length; j++) {
+                if (remainingWriters[j] == writer) {
+                    remainingWriters[j] = copy;
+                }
+            }
+        }
+        if (this.deduplicatedArguments.length == 0) {
+            return new BeanMapper<>(this, this.rowConstructor, this.arguments, writers, remainingWriters);
+        }
+        final ArgumentReader[] arguments = this.arguments.clone();
+        for (int i = 0; i < this.deduplicatedArguments.length; i++) {
+            final int position = this.deduplicatedArguments[i];
+            arguments[position] = arguments[position].deduplicating(
+                    this.deduplication.newTable(this.deduplicatedArgumentLabels[i]));
+        }
+        return new BeanMapper<>(this, rowConstructor(MethodHandles.lookup(), this.type, this.creator, arguments),
+                arguments, writers, remainingWriters);
+    }
+
+    /**
+     * Creates a new bean and initializes its properties from the current row.
+     *
+     * @param rs The result set, positioned on a valid row.
+     * @return An initialized bean.
+     * @throws SQLException if a database error occurs.
+     */
+    T createBean(final ResultSet rs) throws SQLException {
+        if (this.generated != null) {
+            final T bean = this.generated.newInstance();
+            this.generated.populate(bean, rs, this.columns);
+            return bean;
+        }
+        if (this.rowConstructor == null) {
+            return this.populateBean(rs, this.newInstance());
+        }
+        final T bean = this.construct(rs);
+        for (final PropertyWriter writer : this.remainingWriters) {
+            writer.write(rs, bean);
+        }
+        return bean;
+    }
+
+    /**
+     * Initializes the properties of {@code bean} from the current row.
+     *
+     * @param rs The result set, positioned on a valid row.
+     * @param bean The bean to be populated.
+     * @return The populated bean.
+     * @throws SQLException if a database error occurs.
+     */
+    T populateBean(final ResultSet rs, final T bean) throws SQLException {
+        if (this.generated != null) {
+            this.generated.populate(bean, rs, this.columns);
+            return bean;
+        }
+        for (final PropertyWriter writer : this.writers) {
+            writer.write(rs, bean);
+        }
+        return bean;
+    }
+
+    /**
+     * Reads the columns of the current row that map to a property, without
+     * converting them.  Together with {@link #createBean(Object[])} this
+     * lets the rows be read on one thread and turned into beans on others.
+     * A generated mapper is cheap enough to run on the reading thread, so
+     * its row is the bean itself.
+     *
+     * @param rs The result set, positioned on a valid row.
+     * @return The constructor arguments followed by the column values of
+     * the remaining property writers.
+     * @throws SQLException if a database error occurs.
+     */
+    Object[] readRow(final ResultSet rs) throws SQLException {
+        if (this.generated != null) {
+            return new Object[] {this.createBean(rs)};
+        }
+        final int args = this.arguments.length;
+        final Object[] row = new Object[args + this.remainingWriters.length];
+        for (int i = 0; i < args; i++) {
+            row[i] = this.arguments[i].read(rs);
+        }
+        for (int i = args; i < row.length; i++) {
+            row[i] = this.remainingWriters[i - args].read(rs);
+        }
+        return row;
+    }
+
+    /**
+     * Creates a new bean and initializes its properties from a row read by
+     * {@link #readRow(ResultSet)}.
+     *
+     * @param row The column values.
+     * @return An initialized bean.
+     * @throws SQLException if a value cannot be converted or set.
+     */
+    @SuppressWarnings("unchecked")
+    T createBean(final Object[] row) throws SQLException {
+        if (this.generated != null) {
+            return (T) row[0];
+        }
+        final int args = this.arguments.length;
+        final T bean;
+        if (this.arrayConstructor == null) {
+            bean = this.newInstance();
+        } else {
+            final Object[] values = row.length == args ? row : new Object[args];
+            for (int i = 0; i < args; i++) {
+                values[i] = this.arguments[i].convert(row[i]);
+            }
+            bean = this.construct(values);
+        }
+        for (int i = args; i < row.length; i++) {
+            this.remainingWriters[i - args].set(bean, row[i]);
+        }
+        return bean;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T construct(final ResultSet rs) throws SQLException {
+        try {
+            return (T) this.rowConstructor.invokeExact(rs);
+        } catch (SQLException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new SQLException("Cannot create " + this.type.getName(), t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T construct(final Object[] values) throws SQLException {
+        try {
+            return (T) this.arrayConstructor.invokeExact(values);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new SQLException("Cannot create " + this.type.getName(), t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance() throws SQLException {
+        if (this.constructor == null) {
+            return this.processor.newInstance(this.type);
+        }
+        try {
+            return (T) this.constructor.invokeExact();
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new SQLException("Cannot create " + this.type.getName(), t);
+        }
+    }
+
+    private static SQLException setFailure(final String name, final Throwable t) {
+        return new SQLException("Cannot set " + name + ": " + t.getMessage(), t);
+    }
+
+    /**
+     * The constructor beans of a class are created with when they have no
+     * public no-arg constructor or mark one with {@link BeanConstructor},
+     * and the names its parameters are matched to columns by.
+     */
+    static final class Creator {
+
+        final Constructor<?> constructor;
+
+        /**
+         * The name of each parameter.
+         */
+        final String[] names;
+
+        private Creator(final Constructor<?> constructor, final String[] names) {
+            this.constructor = constructor;
+            this.names = names;
+        }
+
+        /**
+         * Chooses the public constructor beans of {@code type} are created
+         * with: the one annotated with {@link BeanConstructor}; else, if there
+         * is no public no-arg constructor, the one annotated with
+         * {@code ConstructorProperties} or the only public constructor.
+         *
+         * @param type The bean type.
+         * @return The constructor and its parameter names, or {@code null}
+         * to create beans with the no-arg constructor.
+         * @throws SQLException if the choice is ambiguous or a parameter has
+         * no name.
+         */
+        static Creator find(final Class<?> type) throws SQLException {
+            final Constructor<?>[] constructors = type.getConstructors();
+            Constructor<?> chosen = null;
+            for (final Constructor<?> c : constructors) {
+                if (c.isAnnotationPresent(BeanConstructor.class)) {
+                    if (chosen != null) {
+                        throw new SQLException(type.getName() + " has more than one @BeanConstructor");
+                    }
+                    chosen = c;
+                }
+            }
+
+            if (chosen == null) {
+                for (final Constructor<?> c : constructors) {
+                    if (c.getParameterCount() == 0) {
+                        return null;
+                    }
+                }
+                for (final Constructor<?> c : constructors) {
+                    if (constructorProperties(c) != null) {
+                        if (chosen != null) {
+                            throw new SQLException(type.getName()
+                                    + " has more than one @ConstructorProperties constructor;"
+                                    + " mark one with @BeanConstructor");
+                        }
+                        chosen = c;
+                    }
+                }
+                if (chosen == null) {
+                    if (constructors.length != 1) {
+                        return null;
+                    }
+                    chosen = constructors[0];
+                }
+            }
+
+            final Parameter[] parameters = chosen.getParameters();
+            final String[] properties = constructorProperties(chosen);
+            final String[] names = new String[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                final ColumnName column = parameters[i].getAnnotation(ColumnName.class);
+                if (column != null) {
+                    names[i] = column.value();
+                } else if (properties != null && i < properties.length) {
+                    names[i] = properties[i];
+                } else if (parameters[i].isNamePresent()) {
+                    names[i] = parameters[i].getName();
+                } else {
+                    throw new SQLException("Cannot match parameter " + i + " of the " + type.getName()
+                            + " constructor to a column: annotate it with @ColumnName or compile with -parameters");
+                }
+            }
+            return new Creator(chosen, names);
+        }
+
+        /**
+         * Reads the {@code java.beans.ConstructorProperties} annotation by
+         * name, so that the {@code java.desktop} module is only needed if
+         * the bean uses it.
+         *
+         * @return The property names, or {@code null} if the constructor
+         * isn't annotated.
+         */
+        private static String[] constructorProperties(final Constructor<?> constructor) throws SQLException {
+            for (final Annotation annotation : constructor.getAnnotations()) {
+                final Class<? extends Annotation> annotationType = annotation.annotationType();
+                if (annotationType.getName().equals("java.beans.ConstructorProperties")) {
+                    try {
+                        return (String[]) annotationType.getMethod("value").invoke(annotation);
+                    } catch (ReflectiveOperationException e) {
+                        throw new SQLException("Cannot read @ConstructorProperties of "
+                                + constructor.getDeclaringClass().getName(), e);
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A writable property or field of a bean class.  Property setters are
+     * resolved when a column first maps to them; fields are written
+     * through a {@code VarHandle} found up front.
+     */
+    static final class Accessor {
+
+        final String name;
+
+        /**
+         * The type of the setter parameter or of the field, or {@code null}
+         * if the property is read-only.
+         */
+        final Class<?> type;
+
+        private final Method writeMethod;
+
+        private final VarHandle field;
+
+        /**
+         * @param name The property name.
+         * @param writeMethod The setter, or {@code null} if the property is
+         * read-only.
+         */
+        Accessor(final String name, final Method writeMethod) {
+            this.name = name;
+            this.writeMethod = writeMethod != null && writeMethod.getParameterCount() == 1 ? writeMethod : null;
+            this.type = this.writeMethod == null ? null : this.writeMethod.getParameterTypes()[0];
+            this.field = null;
+        }
+
+        /**
+         * @param name The field name.
+         * @param type The field type.
+         * @param field The handle of the field.
+         */
+        Accessor(final String name, final Class<?> type, final VarHandle field) {
+            this.name = name;
+            this.type = type;
+            this.writeMethod = null;
+            this.field = field;
+        }
+
+        /**
+         * @return A handle of type {@code (bean, type)void} writing the
+         * value, or {@code null} if the property is read-only.
+         */
+        MethodHandle setter(final MethodHandles.Lookup lookup) throws SQLException {
+            if (this.field != null) {
+                return this.field.toMethodHandle(VarHandle.AccessMode.SET);
+            }
+            if (this.writeMethod == null) {
+                return null;
+            }
+            try {
+                return lookup.unreflect(this.writeMethod);
+            } catch (IllegalAccessException e) {
+                throw new SQLException("Cannot set " + this.name + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Reads the argument of one constructor parameter, either through
+     * {@link #handle} or split into {@link #read} and {@link #convert}.
+     * Parameters that match no column get {@code null} or the primitive
+     * default.
+     */
+    private static final class ArgumentReader {
+
+        /**
+         * The column index, or 0 if no column matches the parameter.
+         */
+        private final int column;
+
+        private final String name;
+
+        private final Class<?> type;
+
+        /**
+         * The type a non-null value must have; the wrapper class for
+         * primitive parameters.
+         */
+        private final Class<?> valueType;
+
+        private final Object nullValue;
+
+        private final BeanProcessor.ColumnReader reader;
+
+        private final PropertyHandler[] propertyHandlers;
+
+        /**
+         * Whether primitive values can be read with the typed getter and
+         * passed without boxing.
+         */
+        private final boolean direct;
+
+        ArgumentReader(final BeanProcessor processor, final int column, final String name, final Class<?> type,
+                       final boolean useTypedGetters) {
+            this.column = column;
+            this.name = name;
+            this.type = type;
+            this.valueType = MethodType.methodType(type).wrap().returnType();
+            this.nullValue = BeanProcessor.primitiveDefault(type);
+            this.reader = useTypedGetters
+                    ? processor.columnReader(type)
+                    : (rs, index) -> processor.processColumn(rs, index, type);
+            this.propertyHandlers = processor.propertyHandlers();
+            this.direct = useTypedGetters && type.isPrimitive() && type != Character.TYPE
+                    && this.propertyHandlers.length == 0 && !processor.hasColumnHandler(type);
+        }
+
+        private ArgumentReader(final ArgumentReader source, final BeanProcessor.ColumnReader reader) {
+            this.column = source.column;
+            this.name = source.name;
+            this.type = source.type;
+            this.valueType = source.valueType;
+            this.nullValue = source.nullValue;
+            this.reader = reader;
+            this.propertyHandlers = source.propertyHandlers;
+            this.direct = false;
+        }
+
+        /**
+         * @return A copy of this reader passing the values it reads through
+         * {@code table}.
+         */
+        ArgumentReader deduplicating(final StringDeduplication.Table table) {
+            final BeanProcessor.ColumnReader reader = this.reader;
+            return new ArgumentReader(this, (rs, index) -> {
+                final Object value = reader.read(rs, index);
+                return value instanceof String ? table.canonical((String) value) : value;
+            });
+        }
+
+        /**
+         * @return A handle of type {@code (ResultSet)type} reading the
+         * converted argument.
+         */
+        MethodHandle handle(final MethodHandles.Lookup lookup) throws SQLException {
+            if (this.column == 0) {
+                return MethodHandles.dropArguments(MethodHandles.constant(this.type, this.nullValue),
+                        0, ResultSet.class);
+            }
+            if (this.direct) {
+                final String getter = "get" + Character.toUpperCase(this.type.getName().charAt(0))
+                        + this.type.getName().substring(1);
+                try {
+                    return MethodHandles.insertArguments(lookup.findVirtual(ResultSet.class, getter,
+                            MethodType.methodType(this.type, int.class)), 1, this.column);
+                } catch (NoSuchMethodException | IllegalAccessException e) {
+                    throw new SQLException("Cannot read " + this.name, e);
+                }
+            }
+            return READ_CONVERTED.bindTo(this).asType(MethodType.methodType(this.type, ResultSet.class));
+        }
+
+        Object read(final ResultSet rs) throws SQLException {
+            return this.column == 0 ? null : this.reader.read(rs, this.column);
+        }
+
+        Object convert(Object value) throws SQLException {
+            if (value == null) {
+                return this.nullValue;
+            }
+            for (final PropertyHandler handler : this.propertyHandlers) {
+                if (handler.match(this.type, value)) {
+                    value = handler.apply(this.type, value);
+                    break;
+                }
+            }
+            if (value != null && !this.valueType.isInstance(value)) {
+                throw new SQLException(
+                        "Cannot pass " + this.name + ": incompatible types, cannot convert "
+                                + value.getClass().getName() + " to " + this.type.getName());
+            }
+            return value == null ? this.nullValue : value;
+        }
+
+        Object readConverted(final ResultSet rs) throws SQLException {
+            return this.convert(this.read(rs));
+        }
+    }
+
+    /**
+     * Reads one column and passes it to the matching setter, either in one
+     * step or split into {@link #read} and {@link #set}.
+     */
+    private abstract static class PropertyWriter {
+
+        final int column;
+
+        final String name;
+
+        PropertyWriter(final int column, final String name) {
+            this.column = column;
+            this.name = name;
+        }
+
+        abstract void write(ResultSet rs, Object bean) throws SQLException;
+
+        abstract Object read(ResultSet rs) throws SQLException;
+
+        abstract void set(Object bean, Object value) throws SQLException;
+    }
+
+    /**
+     * Writes a column read as an object, substituting the primitive default
+     * on SQL NULL and passing the value through the property handlers.
+     */
+    private static final class ObjectWriter extends PropertyWriter {
+
+        private final Class<?> propType;
+
+        /**
+         * The type a non-null value must have to be passed to the setter;
+         * the wrapper class for primitive properties.
+         */
+        private final Class<?> valueType;
+
+        /**
+         * The value to pass to the setter on SQL NULL.
+         */
+        private final Object nullValue;
+
+        private final MethodHandle setter;
+
+        private final BeanProcessor.ColumnReader reader;
+
+        private final PropertyHandler[] propertyHandlers;
+
+        ObjectWriter(final int column, final String name, final Class<?> propType, final MethodHandle setter,
+                     final BeanProcessor.ColumnReader reader, final PropertyHandler[] propertyHandlers) {
+            super(column, name);
+            this.propType = propType;
+            this.valueType = MethodType.methodType(propType).wrap().returnType();
+            this.nullValue = BeanProcessor.primitiveDefault(propType);
+            this.setter = setter.asType(SETTER_TYPE);
+            this.reader = reader;
+            this.propertyHandlers = propertyHandlers;
+        }
+
+        private ObjectWriter(final ObjectWriter source, final BeanProcessor.ColumnReader reader) {
+            super(source.column, source.name);
+            this.propType = source.propType;
+            this.valueType = source.valueType;
+            this.nullValue = source.nullValue;
+            this.setter = source.setter;
+            this.reader = reader;
+            this.propertyHandlers = source.propertyHandlers;
+        }
+
+        /**
+         * @return A copy of this writer passing the values it reads through
+         * {@code table}.
+         */
+        ObjectWriter deduplicating(final StringDeduplication.Table table) {
+            final BeanProcessor.ColumnReader reader = this.reader;
+            return new ObjectWriter(this, (rs, index) -> {
+                final Object value = reader.read(rs, index);
+                return value instanceof String ? table.canonical((String) value) : value;
+            });
+        }
+
+        @Override
+        void write(final ResultSet rs, final Object bean) throws SQLException {
+            this.set(bean, this.reader.read(rs, this.column));
+        }
+
+        @Override
+        Object read(final ResultSet rs) throws SQLException {
+            return this.reader.read(rs, this.column);
+        }
+
+        @Override
+        void set(final Object bean, Object value) throws SQLException {
+            if (value == null) {
+                value = this.nullValue;
+            }
+            for (final PropertyHandler handler : this.propertyHandlers) {
+                if (handler.match(this.propType, value)) {
+                    value = handler.apply(this.propType, value);
+                    break;
+                }
+            }
+            if (value != null && !this.valueType.isInstance(value)) {
+                throw new SQLException(
+                        "Cannot set " + this.name + ": incompatible types, cannot convert "
+                                + value.getClass().getName() + " to " + this.propType.getName());
+            }
+
+            try {
+                this.setter.invokeExact(bean, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw setFailure(this.name, t);
+            }
+        }
+    }
+
+    private static final class IntWriter extends PropertyWriter {
+
+        private final MethodHandle setter;
+
+        IntWriter(final int column, final String name, final MethodHandle setter) {
+            super(column, name);
+            this.setter = setter.asType(MethodType.methodType(void.class, Object.class, int.class));
+        }
+
+        @Override
+        void write(final ResultSet rs, final Object bean) throws SQLException {
+            this.set(bean, rs.getInt(this.column));
+        }
+
+        @Override
+        Object read(final ResultSet rs) throws SQLException {
+            return rs.getInt(this.column);
+        }
+
+        @Override
+        void set(final Object bean, final Object value) throws SQLException {
+            this.set(bean, ((Integer) value).intValue());
+        }
+
+        private void set(final Object bean, final int value) throws SQLException {
+            try {
+                this.setter.invokeExact(bean, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw setFailure(this.name, t);
+            }
+        }
+    }
+
+    private static final class LongWriter extends PropertyWriter {
+
+        private final MethodHandle setter;
+
+        LongWriter(final int column, final String name, final MethodHandle setter) {
+            super(column, name);
+            this.setter = setter.asType(MethodType.methodType(void.class, Object.class, long.class));
+        }
+
+        @Override
+        void write(final ResultSet rs, final Object bean) throws SQLException {
+            this.set(bean, rs.getLong(this.column));
+        }
+
+        @Override
+        Object read(final ResultSet rs) throws SQLException {
+            return rs.getLong(this.column);
+        }
+
+        @Override
+        void set(final Object bean, final Object value) throws SQLException {
+            this.set(bean, ((Long) value).longValue());
+        }
+
+        private void set(final Object bean, final long value) throws SQLException {
+            try {
+                this.setter.invokeExact(bean, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw setFailure(this.name, t);
+            }
+        }
+    }
+
+    private static final class DoubleWriter extends PropertyWriter {
+
+        private final MethodHandle setter;
+
+        DoubleWriter(final int column, final String name, final MethodHandle setter) {
+            super(column, name);
+            this.setter = setter.asType(MethodType.methodType(void.class, Object.class, double.class));
+        }
+
+        @Override
+        void write(final ResultSet rs, final Object bean) throws SQLException {
+            this.set(bean, rs.getDouble(this.column));
+        }
+
+        @Override
+        Object read(final ResultSet rs) throws SQLException {
+            return rs.getDouble(this.column);
+        }
+
+        @Override
+        void set(final Object bean, final Object value) throws SQLException {
+            this.set(bean, ((Double) value).doubleValue());
+        }
+
+        private void set(final Object bean, final double value) throws SQLException {
+            try {
+                this.setter.invokeExact(bean, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw setFailure(this.name, t);
+            }
+        }
+    }
+
+    private static final class FloatWriter extends PropertyWriter {
+
+        private final MethodHandle setter;
+
+        FloatWriter(final int column, final String name, final MethodHandle setter) {
+            super(column, name);
+            this.setter = setter.asType(MethodType.methodType(void.class, Object.class, float.class));
+        }
+
+        @Override
+        void write(final ResultSet rs, final Object bean) throws SQLException {
+            this.set(bean, rs.getFloat(this.column));
+        }
+
+        @Override
+        Object read(final ResultSet rs) throws SQLException {
+            return rs.getFloat(this.column);
+        }
+
+        @Override
+        void set(final Object bean, final Object value) throws SQLException {
+            this.set(bean, ((Float) value).floatValue());
+        }
+
+        private void set(final Object bean, final float value) throws SQLException {
+            try {
+                this.setter.invokeExact(bean, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw setFailure(this.name, t);
+            }
+        }
+    }
+
+    private static final class ShortWriter extends PropertyWriter {
+
+        private final MethodHandle setter;
+
+        ShortWriter(final int column, final String name, final MethodHandle setter) {
+            super(column, name);
+            this.setter = setter.asType(MethodType.methodType(void.class, Object.class, short.class));
+        }
+
+        @Override
+        void write(final ResultSet rs, final Object bean) throws SQLException {
+            this.set(bean, rs.getShort(this.column));
+        }
+
+        @Override
+        Object read(final ResultSet rs) throws SQLException {
+            return rs.getShort(this.column);
+        }
+
+        @Override
+        void set(final Object bean, final Object value) throws SQLException {
+            this.set(bean, ((Short) value).shortValue());
+        }
+
+        private void set(final Object bean, final short value) throws SQLException {
+            try {
+                this.setter.invokeExact(bean, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw setFailure(this.name, t);
+            }
+        }
+    }
+
+    private static final class ByteWriter extends PropertyWriter {
+
+        private final MethodHandle setter;
+
+        ByteWriter(final int column, final String name, final MethodHandle setter) {
+            super(column, name);
+            this.setter = setter.asType(MethodType.methodType(void.class, Object.class, byte.class));
+        }
+
+        @Override
+        void write(final ResultSet rs, final Object bean) throws SQLException {
+            this.set(bean, rs.getByte(this.column));
+        }
+
+        @Override
+        Object read(final ResultSet rs) throws SQLException {
+            return rs.getByte(this.column);
+        }
+
+        @Override
+        void set(final Object bean, final Object value) throws SQLException {
+            this.set(bean, ((Byte) value).byteValue());
+        }
+
+        private void set(final Object bean, final byte value) throws SQLException {
+            try {
+                this.setter.invokeExact(bean, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw setFailure(this.name, t);
+            }
+        }
+    }
+
+    private static final class BooleanWriter extends PropertyWriter {
+
+        private final MethodHandle setter;
+
+        BooleanWriter(final int column, final String name, final MethodHandle setter) {
+            super(column, name);
+            this.setter = setter.asType(MethodType.methodType(void.class, Object.class, boolean.class));
+        }
+
+        @Override
+        void write(final ResultSet rs, final Object bean) throws SQLException {
+            this.set(bean, rs.getBoolean(this.column));
+        }
+
+        @Override
+        Object read(final ResultSet rs) throws SQLException {
+            return rs.getBoolean(this.column);
+        }
+
+        @Override
+        void set(final Object bean, final Object value) throws SQLException {
+            this.set(bean, ((Boolean) value).booleanValue());
+        }
+
+        private void set(final Object bean, final boolean value) throws SQLException {
+            try {
+                this.setter.invokeExact(bean, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw setFailure(this.name, t);
+            }
+        }
+    }
+}
@@ -3,13 +3,28 @@ package com.AliceTheCat;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * <p>
@@ -20,6 +35,17 @@ import java.util.*;
  * </p>
  *
  * <p>
+ * Immutable beans are supported too.  A class without a public no-arg
+ * constructor, or with a constructor annotated with {@link BeanConstructor},
+ * is created through that constructor: its parameters are matched to
+ * columns like properties, by {@link ColumnName}, by
+ * {@link java.beans.ConstructorProperties} or by their declared name, and
+ * the matching columns are passed as arguments.  Columns left over are set
+ * through setters as usual.  Subclasses overriding {@link #newInstance}
+ * always create beans with it.
+ * </p>
+ *
+ * <p>
  * This class is thread-safe.
  * </p>
  *
@@ -36,6 +62,12 @@ public class BeanProcessor {
      */
     protected static final int PROPERTY_NOT_FOUND = -1;
 
+    /**
+     * The number of chunks per pool thread that parallel mapping reads
+     * ahead before waiting for the oldest one.
+     */
+    private static final int MAPPING_TASKS_PER_THREAD = 2;
+
     /**
      * Set a bean's primitive properties to these defaults when SQL NULL
      * is returned.  These are the same as the defaults that ResultSet get*
@@ -43,15 +75,103 @@ public class BeanProcessor {
      */
     private static final Map<Class<?>, Object> primitiveDefaults = new HashMap<>();
 
+    /**
+     * Typed {@code ResultSet} getters for the property types that
+     * {@code processColumn} converts natively.  Each getter returns
+     * {@code null} on SQL NULL.
+     */
+    private static final Map<Class<?>, ColumnReader> columnReaders = new HashMap<>();
+
+    /**
+     * The {@code ColumnHandler}s found by the {@code ServiceLoader}; they
+     * apply to every {@code BeanProcessor}.
+     */
     private static final List<ColumnHandler> columnHandlers = new ArrayList<>();
 
+    /**
+     * The {@code PropertyHandler}s found by the {@code ServiceLoader}; they
+     * apply to every {@code BeanProcessor}.
+     */
     private static final List<PropertyHandler> propertyHandlers = new ArrayList<>();
 
+    /**
+     * GeneratedMappers loaded by a {@code ServiceLoader}, by bean class.
+     */
+    private static final Map<Class<?>, GeneratedMapper<?>> generatedMappers = new HashMap<>();
+
     /**
      * ResultSet column to bean property name overrides.
      */
     private final Map<String, String> columnToPropertyOverrides;
 
+    /**
+     * The column handlers of this processor followed by the global ones, in
+     * the order they are tried.
+     */
+    private final ColumnHandler[] columnHandlerChain;
+
+    /**
+     * The property handlers of this processor followed by the global ones, in
+     * the order they are tried.
+     */
+    private final PropertyHandler[] propertyHandlerChain;
+
+    /**
+     * Introspection results and compiled mappers, per bean class.  The
+     * {@code ClassValue} ties each entry to its bean class so that classes
+     * loaded by a redeployed web application can still be unloaded.
+     */
+    private final ClassValue<BeanMappings> mappings = new ClassValue<BeanMappings>() {
+        @Override
+        protected BeanMappings computeValue(final Class<?> type) {
+            return new BeanMappings(type, BeanProcessor.this.fieldAccess,
+                    BeanProcessor.this.useGeneratedMappers ? generatedMappers.get(type) : null);
+        }
+    };
+
+    /**
+     * Whether a subclass overrides {@link #newInstance(Class)}, in which case
+     * compiled mappers must call it instead of the no-arg constructor.
+     */
+    private final boolean customNewInstance;
+
+    /**
+     * Whether a subclass overrides {@link #getWriteMethod}, in which case
+     * setters cannot be resolved ahead of time and rows are populated
+     * reflectively.
+     */
+    private final boolean customWriteMethod;
+
+    /**
+     * Whether a subclass overrides {@link #mapColumnsToProperties}, in which
+     * case the cached property name index is bypassed when a new column
+     * layout is mapped.
+     */
+    private final boolean customMapColumns;
+
+    /**
+     * Whether a subclass overrides {@link #processColumn}, in which case
+     * compiled mappers must call it for every column instead of using the
+     * typed getters directly.
+     */
+    private final boolean customProcessColumn;
+
+    /**
+     * Whether columns are mapped to fields rather than to properties.
+     */
+    private final boolean fieldAccess;
+
+    /**
+     * Whether nothing in this processor changes how columns are converted
+     * or beans created, so that generated mappers can be used.
+     */
+    private final boolean useGeneratedMappers;
+
+    /**
+     * The deduplication of {@code String} columns, or {@code null}.
+     */
+    private final StringDeduplication stringDeduplication;
+
     static {
         primitiveDefaults.put(Integer.TYPE, 0);
         primitiveDefaults.put(Short.TYPE, (short) 0);
@@ -62,6 +182,59 @@ public class BeanProcessor {
         primitiveDefaults.put(Boolean.TYPE, Boolean.FALSE);
         primitiveDefaults.put(Character.TYPE, (char) 0);
 
+        final ColumnReader intReader = (rs, index) -> {
+            final int value = rs.getInt(index);
+            return rs.wasNull() ? null : value;
+        };
+        final ColumnReader longReader = (rs, index) -> {
+            final long value = rs.getLong(index);
+            return rs.wasNull() ? null : value;
+        };
+        final ColumnReader doubleReader = (rs, index) -> {
+            final double value = rs.getDouble(index);
+            return rs.wasNull() ? null : value;
+        };
+        final ColumnReader floatReader = (rs, index) -> {
+            final float value = rs.getFloat(index);
+            return rs.wasNull() ? null : value;
+        };
+        final ColumnReader shortReader = (rs, index) -> {
+            final short value = rs.getShort(index);
+            return rs.wasNull() ? null : value;
+        };
+        final ColumnReader byteReader = (rs, index) -> {
+            final byte value = rs.getByte(index);
+            return rs.wasNull() ? null : value;
+        };
+        final ColumnReader booleanReader = (rs, index) -> {
+            final boolean value = rs.getBoolean(index);
+            return rs.wasNull() ? null : value;
+        };
+        columnReaders.put(Integer.TYPE, intReader);
+        columnReaders.put(Integer.class, intReader);
+        columnReaders.put(Long.TYPE, longReader);
+        columnReaders.put(Long.class, longReader);
+        columnReaders.put(Double.TYPE, doubleReader);
+        columnReaders.put(Double.class, doubleReader);
+        columnReaders.put(Float.TYPE, floatReader);
+        columnReaders.put(Float.class, floatReader);
+        columnReaders.put(Short.TYPE, shortReader);
+        columnReaders.put(Short.class, shortReader);
+        columnReaders.put(Byte.TYPE, byteReader);
+        columnReaders.put(Byte.class, byteReader);
+        columnReaders.put(Boolean.TYPE, booleanReader);
+        columnReaders.put(Boolean.class, booleanReader);
+        columnReaders.put(String.class, ResultSet::getString);
+        columnReaders.put(BigDecimal.class, ResultSet::getBigDecimal);
+        columnReaders.put(byte[].class, ResultSet::getBytes);
+        columnReaders.put(Timestamp.class, ResultSet::getTimestamp);
+        columnReaders.put(java.sql.Date.class, ResultSet::getDate);
+        columnReaders.put(Time.class, ResultSet::getTime);
+        columnReaders.put(LocalDate.class, (rs, index) -> rs.getObject(index, LocalDate.class));
+        columnReaders.put(LocalTime.class, (rs, index) -> rs.getObject(index, LocalTime.class));
+        columnReaders.put(LocalDateTime.class, (rs, index) -> rs.getObject(index, LocalDateTime.class));
+        columnReaders.put(OffsetDateTime.class, (rs, index) -> rs.getObject(index, OffsetDateTime.class));
+
         // Use a ServiceLoader to find implementations
         for (final ColumnHandler handler : ServiceLoader.load(ColumnHandler.class)) {
             columnHandlers.add(handler);
@@ -71,6 +244,11 @@ public class BeanProcessor {
         for (final PropertyHandler handler : ServiceLoader.load(PropertyHandler.class)) {
             propertyHandlers.add(handler);
         }
+
+        // Use a ServiceLoader to find implementations
+        for (final GeneratedMapper<?> mapper : ServiceLoader.load(GeneratedMapper.class)) {
+            generatedMappers.put(mapper.type(), mapper);
+        }
     }
 
     /**
@@ -87,11 +265,108 @@ public class BeanProcessor {
      * @since 1.5
      */
     public BeanProcessor(final Map<String, String> columnToPropertyOverrides) {
+        this(columnToPropertyOverrides, Collections.<ColumnHandler>emptyList(),
+                Collections.<PropertyHandler>emptyList());
+    }
+
+    /**
+     * Constructor for BeanProcessor configured with column to property name
+     * overrides and handlers of its own.  The given handlers are tried before
+     * the ones registered globally through the {@code ServiceLoader}.
+     *
+     * <p>
+     * The {@code ColumnHandler} of a column is chosen once, when the column
+     * is first mapped to a property; {@code PropertyHandler}s are tried for
+     * every value, in order, until one matches.
+     * </p>
+     *
+     * @param columnToPropertyOverrides ResultSet column to bean property name overrides
+     * @param columnHandlers Column handlers specific to this processor
+     * @param propertyHandlers Property handlers specific to this processor
+     */
+    public BeanProcessor(final Map<String, String> columnToPropertyOverrides,
+                         final List<ColumnHandler> columnHandlers,
+                         final List<PropertyHandler> propertyHandlers) {
+        this(columnToPropertyOverrides, columnHandlers, propertyHandlers, false);
+    }
+
+    /**
+     * Constructor for BeanProcessor mapping columns to properties or fields.
+     *
+     * <p>
+     * With {@code fieldAccess}, columns are matched to the instance fields
+     * of the bean class and its superclasses, whatever their visibility,
+     * instead of to JavaBean properties.  Fields are written directly
+     * through {@code VarHandle}s, primitive ones without boxing; setters and
+     * {@code java.beans.Introspector} are not used, so classes need neither
+     * setters nor the {@code java.desktop} module.  Final fields are left to
+     * {@link BeanConstructor constructor mapping}.
+     * </p>
+     *
+     * @param columnToPropertyOverrides ResultSet column to bean property name overrides
+     * @param columnHandlers Column handlers specific to this processor
+     * @param propertyHandlers Property handlers specific to this processor
+     * @param fieldAccess Whether to write fields rather than call setters
+     */
+    public BeanProcessor(final Map<String, String> columnToPropertyOverrides,
+                         final List<ColumnHandler> columnHandlers,
+                         final List<PropertyHandler> propertyHandlers,
+                         final boolean fieldAccess) {
+        this(columnToPropertyOverrides, columnHandlers, propertyHandlers, fieldAccess, null);
+    }
+
+    /**
+     * Constructor for BeanProcessor with all the options.
+     *
+     * <p>
+     * With a {@code stringDeduplication}, the {@code String} columns it
+     * selects return one instance per distinct value within each result
+     * converted by {@link #toBeanList} or {@link #beanMapper}.  Generated
+     * mappers are not used then, since they read columns directly.
+     * </p>
+     *
+     * @param columnToPropertyOverrides ResultSet column to bean property name overrides
+     * @param columnHandlers Column handlers specific to this processor
+     * @param propertyHandlers Property handlers specific to this processor
+     * @param fieldAccess Whether to write fields rather than call setters
+     * @param stringDeduplication The columns whose values are deduplicated,
+     * or {@code null} for none
+     * @see #BeanProcessor(Map, List, List, boolean)
+     */
+    public BeanProcessor(final Map<String, String> columnToPropertyOverrides,
+                         final List<ColumnHandler> columnHandlers,
+                         final List<PropertyHandler> propertyHandlers,
+                         final boolean fieldAccess,
+                         final StringDeduplication stringDeduplication) {
         super();
         if (columnToPropertyOverrides == null) {
             throw new IllegalArgumentException("columnToPropertyOverrides map cannot be null");
         }
+        if (columnHandlers == null || propertyHandlers == null) {
+            throw new IllegalArgumentException("handler lists cannot be null");
+        }
         this.columnToPropertyOverrides = columnToPropertyOverrides;
+
+        final List<ColumnHandler> columnChain = new ArrayList<>(columnHandlers);
+        columnChain.addAll(BeanProcessor.columnHandlers);
+        this.columnHandlerChain = columnChain.toArray(new ColumnHandler[0]);
+
+        final List<PropertyHandler> propertyChain = new ArrayList<>(propertyHandlers);
+        propertyChain.addAll(BeanProcessor.propertyHandlers);
+        this.propertyHandlerChain = propertyChain.toArray(new PropertyHandler[0]);
+
+        this.fieldAccess = fieldAccess;
+        this.customNewInstance = this.overrides("newInstance", "java.lang.Class");
+        this.customWriteMethod = !fieldAccess
+                && this.overrides("getWriteMethod", "java.lang.Object", "java.beans.PropertyDescriptor", "java.lang.Object");
+        this.customMapColumns = !fieldAccess
+                && this.overrides("mapColumnsToProperties", "java.sql.ResultSetMetaData", "[Ljava.beans.PropertyDescriptor;");
+        this.customProcessColumn = this.overrides("processColumn", "java.sql.ResultSet", "int", "java.lang.Class");
+        this.stringDeduplication = stringDeduplication;
+        this.useGeneratedMappers = stringDeduplication == null && !fieldAccess
+                && !this.customNewInstance && !this.customWriteMethod
+                && !this.customMapColumns && !this.customProcessColumn
+                && this.columnHandlerChain.length == 0 && this.propertyHandlerChain.length == 0;
     }
 
     /**
@@ -128,9 +403,12 @@ public class BeanProcessor {
      * @return the newly created bean
      */
     public <T> T toBean(final ResultSet rs, final Class<? extends T> type) throws SQLException {
-        // TODO
-        final T bean = this.newInstance(type);
-        return populateBean(rs, bean);
+        if (!this.customWriteMethod) {
+            return this.mapper(type, rs.getMetaData()).createBean(rs);
+        }
+        final PropertyDescriptor[] props = this.propertyDescriptors(type);
+        final int[] columnToProperty = this.mapColumnsToProperties(rs.getMetaData(), props);
+        return this.createBean(rs, type, props, columnToProperty);
     }
 
     /**
@@ -174,17 +452,112 @@ public class BeanProcessor {
             return results;
         }
 
-        final PropertyDescriptor[] props = this.propertyDescriptors(type);
+        final FlightRecorderEvents.Mapping event = new FlightRecorderEvents.Mapping();
+        event.begin();
         final ResultSetMetaData rsmd = rs.getMetaData();
-        final int[] columnToProperty = this.mapColumnsToProperties(rsmd, props);
 
-        do {
-            results.add(this.createBean(rs, type, props, columnToProperty));
-        } while (rs.next());
+        if (this.customWriteMethod) {
+            final PropertyDescriptor[] props = this.propertyDescriptors(type);
+            final int[] columnToProperty = this.mapColumnsToProperties(rsmd, props);
+            do {
+                results.add(this.createBean(rs, type, props, columnToProperty));
+            } while (rs.next());
+        } else {
+            final BeanMapper<? extends T> mapper = this.mapper(type, rsmd).forQuery();
+            do {
+                results.add(mapper.createBean(rs));
+            } while (rs.next());
+        }
 
+        event.finish(type, results.size(), false);
         return results;
     }
 
+    /**
+     * Convert a {@code ResultSet} into a {@code List} of JavaBeans, mapping
+     * the rows in parallel.  Columns are matched to properties as in
+     * {@link #toBeanList(ResultSet, Class)}.
+     *
+     * <p>
+     * The calling thread reads the column values of each row, since a
+     * {@code ResultSet} can't be shared, and collects them in chunks of
+     * {@code chunkRows} rows.  Each chunk is then turned into beans on
+     * {@code pool}: instantiation, {@code PropertyHandler} conversions and
+     * setter calls run there while the next chunk is being fetched.  At most
+     * two chunks per pool thread are pending: beyond that the calling
+     * thread waits for the oldest one before reading on, and the column
+     * values of a chunk are released as it is mapped.  The
+     * returned list keeps the order of the {@code ResultSet}.  This pays off
+     * when property conversions are expensive; for plain columns the
+     * sequential method is faster.
+     * </p>
+     *
+     * <p>
+     * Processors that override {@link #processColumn} still convert the
+     * columns on the calling thread.  Processors that override the setter
+     * lookup map sequentially.
+     * </p>
+     * @param <T> The type of bean to create
+     * @param rs ResultSet that supplies the bean data
+     * @param type Class from which to create the bean instance
+     * @param pool The pool that maps the chunks into beans.
+     * @param chunkRows The number of rows mapped by one task.
+     * @throws SQLException if a database access error occurs
+     * @return the newly created List of beans
+     */
+    public <T> List<T> toBeanList(final ResultSet rs, final Class<? extends T> type,
+                                  final ForkJoinPool pool, final int chunkRows) throws SQLException {
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool cannot be null");
+        }
+        if (chunkRows <= 0) {
+            throw new IllegalArgumentException("chunkRows must be positive");
+        }
+        if (this.customWriteMethod) {
+            return this.toBeanList(rs, type);
+        }
+
+        if (!rs.next()) {
+            return new ArrayList<>();
+        }
+
+        final FlightRecorderEvents.Mapping event = new FlightRecorderEvents.Mapping();
+        event.begin();
+        final BeanMapper<? extends T> mapper = this.mapper(type, rs.getMetaData()).forQuery();
+        final Deque<MappingTask<T>> chunks = new ArrayDeque<>();
+        final int maxChunks = MAPPING_TASKS_PER_THREAD * pool.getParallelism();
+        final List<T> results = new ArrayList<>();
+        try {
+            Object[][] chunk = new Object[chunkRows][];
+            int size = 0;
+            do {
+                chunk[size++] = mapper.readRow(rs);
+                if (size == chunkRows) {
+                    if (chunks.size() == maxChunks) {
+                        // Don't read ahead of the pool: wait for the oldest chunk
+                        results.addAll(chunks.removeFirst().join());
+                    }
+                    chunks.addLast(new MappingTask<>(mapper, chunk, size, pool));
+                    chunk = new Object[chunkRows][];
+                    size = 0;
+                }
+            } while (rs.next());
+            if (size > 0) {
+                chunks.addLast(new MappingTask<>(mapper, chunk, size, pool));
+            }
+
+            while (!chunks.isEmpty()) {
+                results.addAll(chunks.removeFirst().join());
+            }
+            event.finish(type, results.size(), true);
+            return results;
+        } finally {
+            for (final MappingTask<T> task : chunks) {
+                task.future.cancel(false);
+            }
+        }
+    }
+
     /**
      * Creates a new object and initializes its fields from the ResultSet.
      * @param <T> The type of bean to create
@@ -198,11 +571,75 @@ public class BeanProcessor {
     private <T> T createBean(final ResultSet rs, final Class<T> type,
                              final PropertyDescriptor[] props, final int[] columnToProperty)
             throws SQLException {
-        // TODO
         final T bean = this.newInstance(type);
         return this.populateBean(rs, bean, props, columnToProperty);
     }
 
+    /**
+     * Returns a {@code RowMapper} that creates beans from the rows of a
+     * {@code ResultSet} described by {@code rsmd}.  The columns are matched
+     * to the bean properties once, so mapping a row costs the same as one
+     * row of {@link #toBeanList(ResultSet, Class)}.
+     * @param <T> The type of bean to create
+     * @param rsmd The meta-data of the {@code ResultSet} the mapper is used on.
+     * @param type Class from which to create the bean instances.
+     * @return The mapper.
+     * @throws SQLException if a database access error occurs
+     */
+    public <T> RowMapper<T> beanMapper(final ResultSetMetaData rsmd, final Class<? extends T> type)
+            throws SQLException {
+        if (this.customWriteMethod) {
+            return rs -> this.toBean(rs, type);
+        }
+        final BeanMapper<? extends T> mapper = this.mapper(type, rsmd).forQuery();
+        return mapper::createBean;
+    }
+
+    /**
+     * Returns the compiled mapper for the given bean class and the columns
+     * described by {@code rsmd}, building it on first use.  Mappers are
+     * cached by the column labels, so the column to property matching is
+     * done once for every shape of result.
+     * @param <T> The type of bean to create
+     * @param type The bean type.
+     * @param rsmd The meta-data of the result being processed.
+     * @return The cached mapper.
+     * @throws SQLException if the mapper cannot be built.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> BeanMapper<T> mapper(final Class<T> type, final ResultSetMetaData rsmd)
+            throws SQLException {
+        final BeanMappings beanMappings = this.mappings.get(type);
+        final ColumnSignature signature = ColumnSignature.of(rsmd);
+        BeanMapper<?> mapper = beanMappings.mappers.get(signature);
+        if (mapper == null) {
+            final FlightRecorderEvents.MappingPlan event = new FlightRecorderEvents.MappingPlan();
+            event.begin();
+            final int[] columnToProperty = this.customMapColumns
+                    ? this.mapColumnsToProperties(rsmd, beanMappings.propertyDescriptors())
+                    : this.mapColumnsToProperties(signature.labels, beanMappings.propertyIndex());
+            if (beanMappings.generated != null) {
+                mapper = BeanMapper.generated(this, (GeneratedMapper<T>) beanMappings.generated, columnToProperty);
+            } else {
+                final BeanMapper.Creator creator = this.customNewInstance ? null : beanMappings.creator();
+                final int[] columnToParameter = creator == null
+                        ? null
+                        : this.mapColumnsToProperties(signature.labels, beanMappings.parameterIndex());
+                mapper = BeanMapper.compile(this, type, beanMappings.accessors(), columnToProperty, creator,
+                        columnToParameter, !this.customNewInstance, !this.customProcessColumn);
+                if (this.stringDeduplication != null) {
+                    mapper = mapper.withDeduplication(this.stringDeduplication, signature.labels);
+                }
+            }
+            event.finish(type, signature.labels.length);
+            final BeanMapper<?> existing = beanMappings.mappers.putIfAbsent(signature, mapper);
+            if (existing != null) {
+                mapper = existing;
+            }
+        }
+        return (BeanMapper<T>) mapper;
+    }
+
     /**
      * Initializes the fields of the provided bean from the ResultSet.
      * @param <T> The type of bean
@@ -211,10 +648,14 @@ public class BeanProcessor {
      * @return An initialized object.
      * @throws SQLException if a database error occurs.
      */
+    @SuppressWarnings("unchecked")
     public <T> T populateBean(final ResultSet rs, final T bean) throws SQLException {
-        // TODO
-        PropertyDescriptor[] props = this.propertyDescriptors(bean.getClass());
-        int[] columnToProperty = this.mapColumnsToProperties(rs.getMetaData(), props);
+        final Class<T> type = (Class<T>) bean.getClass();
+        if (!this.customWriteMethod) {
+            return this.mapper(type, rs.getMetaData()).populateBean(rs, bean);
+        }
+        final PropertyDescriptor[] props = this.propertyDescriptors(type);
+        final int[] columnToProperty = this.mapColumnsToProperties(rs.getMetaData(), props);
         return this.populateBean(rs, bean, props, columnToProperty);
     }
 
@@ -274,6 +715,7 @@ public class BeanProcessor {
 
         try {
             final Class<?> firstParam = setter.getParameterTypes()[0];
+            value = this.applyPropertyHandlers(firstParam, value);
             if (this.isCompatibleType(value, firstParam)) {
                 setter.invoke(target, value);
             } else {
@@ -379,12 +821,7 @@ public class BeanProcessor {
      */
     private PropertyDescriptor[] propertyDescriptors(final Class<?> c)
             throws SQLException {
-        // TODO
-        try {
-            return Introspector.getBeanInfo(c).getPropertyDescriptors();
-        } catch (IntrospectionException e) {
-            throw new SQLException("Introspection fails for class " + c.getName(), e);
-        }
+        return this.mappings.get(c).propertyDescriptors();
     }
 
     /**
@@ -406,22 +843,31 @@ public class BeanProcessor {
      */
     protected int[] mapColumnsToProperties(final ResultSetMetaData rsmd,
                                            final PropertyDescriptor[] props) throws SQLException {
-        // TODO
-        int cols = rsmd.getColumnCount();
-        final int[] columnToProperty = new int[cols + 1];
+        return this.mapColumnsToProperties(ColumnSignature.of(rsmd).labels, new PropertyIndex(props));
+    }
+
+    /**
+     * Matches column labels to bean properties through a property name
+     * index.  A column is first looked up in the column to property
+     * overrides, then by its name ignoring case, and finally with
+     * underscores removed so that {@code first_name} matches a
+     * {@code firstName} property.
+     *
+     * @param labels The column labels; the 0th element is unused.
+     * @param index The property name index of the bean class.
+     * @return An int[] with column index to property index mappings.
+     */
+    private int[] mapColumnsToProperties(final String[] labels, final PropertyIndex index) {
+        final int[] columnToProperty = new int[labels.length];
         Arrays.fill(columnToProperty, PROPERTY_NOT_FOUND);
 
-        for(int i = 1 ; i < cols ; i ++) {
-            String colName = rsmd.getColumnLabel(i);
-            if (colName == null || colName.length() == 0) {
-                colName = rsmd.getColumnName(i);
-            }
-            for(int j = 0 ; j < props.length ; j++) {
-                if(colName.equalsIgnoreCase(props[j].getName())) {
-                    columnToProperty[i] = j;
-                    break;
-                }
+        for (int i = 1; i < labels.length; i++) {
+            final String colName = labels[i];
+            String propertyName = this.columnToPropertyOverrides.get(colName);
+            if (propertyName == null || propertyName.isEmpty()) {
+                propertyName = colName;
             }
+            columnToProperty[i] = index.indexOf(propertyName);
         }
         return columnToProperty;
     }
@@ -455,9 +901,458 @@ public class BeanProcessor {
      */
     protected Object processColumn(final ResultSet rs, final int index, final Class<?> propType)
             throws SQLException {
-        // TODO
-        return rs.getObject(index);
+        return this.columnReader(propType).read(rs, index);
     }
 
-}
+    /**
+     * Resolves how {@code processColumn} reads a column for the given
+     * property type: through the first {@code ColumnHandler} that matches
+     * the type, else through a typed {@code ResultSet} getter, else with
+     * {@code getObject}.
+     *
+     * @param propType The bean property type.
+     * @return The reader for columns targeted at {@code propType}.
+     */
+    ColumnReader columnReader(final Class<?> propType) {
+        for (final ColumnHandler handler : this.columnHandlerChain) {
+            if (handler.match(propType)) {
+                return handler::apply;
+            }
+        }
+        final ColumnReader reader = columnReaders.get(propType);
+        return reader != null ? reader : ResultSet::getObject;
+    }
+
+    /**
+     * Returns whether a column targeted at {@code propType} is read by a
+     * {@code ColumnHandler} rather than by a built-in getter.
+     *
+     * @param propType The bean property type.
+     * @return true if a column handler matches the type.
+     */
+    boolean hasColumnHandler(final Class<?> propType) {
+        for (final ColumnHandler handler : this.columnHandlerChain) {
+            if (handler.match(propType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the property handlers tried for every value, in order.
+     *
+     * @return The property handler chain; never {@code null}.
+     */
+    PropertyHandler[] propertyHandlers() {
+        return this.propertyHandlerChain;
+    }
+
+    /**
+     * Passes {@code value} through the first {@code PropertyHandler} that
+     * wants to convert it to {@code parameter}.
+     *
+     * @param parameter The setter parameter type.
+     * @param value The column value.
+     * @return The converted value, or {@code value} if no handler matches.
+     */
+    private Object applyPropertyHandlers(final Class<?> parameter, final Object value) {
+        for (final PropertyHandler handler : this.propertyHandlerChain) {
+            if (handler.match(parameter, value)) {
+                return handler.apply(parameter, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value a property of the given type is set to when SQL NULL
+     * is returned.
+     *
+     * @param type The property type.
+     * @return The primitive default for primitive types, {@code null}
+     * otherwise.
+     */
+    static Object primitiveDefault(final Class<?> type) {
+        return type.isPrimitive() ? primitiveDefaults.get(type) : null;
+    }
+
+    /**
+     * Returns the generated mapper registered for a bean class.
+     *
+     * @param type The bean class.
+     * @return The mapper, or {@code null} if there is none.
+     */
+    static GeneratedMapper<?> generatedMapper(final Class<?> type) {
+        return generatedMappers.get(type);
+    }
+
+    /**
+     * Checks whether a subclass of {@code BeanProcessor} declares the given
+     * method.  Parameter types are compared by name so that checking for
+     * the {@code java.beans} hooks doesn't load {@code java.beans}.
+     *
+     * @param name The method name.
+     * @param parameterTypes The names of the method parameter types.
+     * @return true if the method is overridden below {@code BeanProcessor}.
+     */
+    private boolean overrides(final String name, final String... parameterTypes) {
+        for (Class<?> c = this.getClass(); c != BeanProcessor.class; c = c.getSuperclass()) {
+            for (final Method m : c.getDeclaredMethods()) {
+                if (m.getName().equals(name) && m.getParameterCount() == parameterTypes.length
+                        && sameTypes(m.getParameterTypes(), parameterTypes)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean sameTypes(final Class<?>[] types, final String[] names) {
+        for (int i = 0; i < types.length; i++) {
+            if (!types[i].getName().equals(names[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads one column of the current row as an object.
+     */
+    @FunctionalInterface
+    interface ColumnReader {
+
+        /**
+         * @param rs The result set, positioned on a valid row.
+         * @param index The column index.
+         * @return The column value, or {@code null} on SQL NULL.
+         * @throws SQLException if a database access error occurs
+         */
+        Object read(ResultSet rs, int index) throws SQLException;
+    }
+
+    /**
+     * A chunk of rows read by {@link #toBeanList(ResultSet, Class, ForkJoinPool, int)}
+     * and converted into beans on the pool.
+     */
+    private static final class MappingTask<T> implements Callable<List<T>> {
+
+        private final BeanMapper<? extends T> mapper;
+
+        /**
+         * The rows to convert, released as they are.
+         */
+        private Object[][] rows;
+
+        private final int size;
+
+        private final ForkJoinTask<List<T>> future;
+
+        /**
+         * The conversion failure, seen by {@link #join()} after the task
+         * completed.
+         */
+        private SQLException failure;
+
+        MappingTask(final BeanMapper<? extends T> mapper, final Object[][] rows, final int size,
+                    final ForkJoinPool pool) {
+            this.mapper = mapper;
+            this.rows = rows;
+            this.size = size;
+            this.future = pool.submit(this);
+        }
+
+        @Override
+        public List<T> call() {
+            final Object[][] rows = this.rows;
+            this.rows = null;
+            final List<T> beans = new ArrayList<>(this.size);
+            try {
+                for (int i = 0; i < this.size; i++) {
+                    beans.add(this.mapper.createBean(rows[i]));
+                    rows[i] = null;
+                }
+            } catch (SQLException e) {
+                this.failure = e;
+            }
+            return beans;
+        }
+
+        /**
+         * Waits for the chunk and returns its beans.
+         */
+        List<T> join() throws SQLException {
+            final List<T> beans;
+            try {
+                beans = this.future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while mapping rows", e);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new SQLException(cause);
+            }
+            if (this.failure != null) {
+                throw this.failure;
+            }
+            return beans;
+        }
+    }
+
+    /**
+     * The introspection results and compiled mappers of one bean class.
+     */
+    private static final class BeanMappings {
+
+        private final Class<?> type;
 
+        /**
+         * Whether columns are mapped to fields rather than to properties.
+         */
+        private final boolean fieldAccess;
+
+        /**
+         * The generated mapper of the class, or {@code null} to use
+         * reflection.
+         */
+        final GeneratedMapper<?> generated;
+
+        /**
+         * Compiled mappers by column labels.
+         */
+        final ConcurrentMap<ColumnSignature, BeanMapper<?>> mappers = new ConcurrentHashMap<>();
+
+        private volatile PropertyDescriptor[] props;
+
+        /**
+         * The properties, in the order of {@link #props}, or the fields.
+         */
+        private volatile BeanMapper.Accessor[] accessors;
+
+        private volatile PropertyIndex index;
+
+        private volatile BeanMapper.Creator creator;
+
+        private volatile boolean creatorFound;
+
+        private volatile PropertyIndex parameterIndex;
+
+        BeanMappings(final Class<?> type, final boolean fieldAccess, final GeneratedMapper<?> generated) {
+            this.type = type;
+            this.fieldAccess = fieldAccess;
+            this.generated = generated;
+        }
+
+        /**
+         * @return The constructor beans are created with, or {@code null}
+         * for the no-arg constructor.
+         */
+        BeanMapper.Creator creator() throws SQLException {
+            if (!this.creatorFound) {
+                this.creator = BeanMapper.Creator.find(this.type);
+                this.creatorFound = true;
+            }
+            return this.creator;
+        }
+
+        PropertyIndex parameterIndex() throws SQLException {
+            PropertyIndex result = this.parameterIndex;
+            if (result == null) {
+                result = new PropertyIndex(this.creator().names);
+                this.parameterIndex = result;
+            }
+            return result;
+        }
+
+        PropertyDescriptor[] propertyDescriptors() throws SQLException {
+            PropertyDescriptor[] result = this.props;
+            if (result == null) {
+                result = Introspection.propertyDescriptors(this.type);
+                this.props = result;
+            }
+            return result;
+        }
+
+        BeanMapper.Accessor[] accessors() throws SQLException {
+            BeanMapper.Accessor[] result = this.accessors;
+            if (result == null) {
+                result = this.fieldAccess
+                        ? this.fields()
+                        : Introspection.accessors(this.propertyDescriptors());
+                this.accessors = result;
+            }
+            return result;
+        }
+
+        /**
+         * Finds the instance fields that are not final, from the bean class
+         * up to {@code Object}.  A field hides the fields of the same name
+         * in superclasses.  Private fields are written through a lookup
+         * with private access to their class, which requires the package
+         * to be open to this library when the class is in a named module.
+         */
+        private BeanMapper.Accessor[] fields() throws SQLException {
+            final List<BeanMapper.Accessor> fields = new ArrayList<>();
+            final Set<String> names = new HashSet<>();
+            for (Class<?> c = this.type; c != null && c != Object.class; c = c.getSuperclass()) {
+                final MethodHandles.Lookup lookup;
+                try {
+                    lookup = MethodHandles.privateLookupIn(c, MethodHandles.lookup());
+                } catch (IllegalAccessException e) {
+                    throw new SQLException("Cannot access the fields of " + c.getName() + ": " + e.getMessage(), e);
+                }
+                for (final Field field : c.getDeclaredFields()) {
+                    final int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || field.isSynthetic()
+                            || !names.add(field.getName())) {
+                        continue;
+                    }
+                    try {
+                        fields.add(new BeanMapper.Accessor(field.getName(), field.getType(),
+                                lookup.unreflectVarHandle(field)));
+                    } catch (IllegalAccessException e) {
+                        throw new SQLException("Cannot set " + field.getName() + ": " + e.getMessage(), e);
+                    }
+                }
+            }
+            return fields.toArray(new BeanMapper.Accessor[0]);
+        }
+
+        PropertyIndex propertyIndex() throws SQLException {
+            PropertyIndex result = this.index;
+            if (result == null) {
+                final String[] names;
+                if (this.generated != null) {
+                    names = this.generated.writableProperties();
+                } else {
+                    final BeanMapper.Accessor[] accessors = this.accessors();
+                    names = new String[accessors.length];
+                    for (int i = 0; i < accessors.length; i++) {
+                        names[i] = accessors[i].name;
+                    }
+                }
+                result = new PropertyIndex(names);
+                this.index = result;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The uses of {@code java.beans.Introspector}, kept out of the classes
+     * loaded for field access so that the {@code java.desktop} module is
+     * only needed when mapping to properties.
+     */
+    private static final class Introspection {
+
+        static PropertyDescriptor[] propertyDescriptors(final Class<?> type) throws SQLException {
+            try {
+                return Introspector.getBeanInfo(type).getPropertyDescriptors();
+            } catch (IntrospectionException e) {
+                throw new SQLException("Introspection fails for class " + type.getName(), e);
+            }
+        }
+
+        /**
+         * @return The accessors of {@code props}, in the same order.
+         */
+        static BeanMapper.Accessor[] accessors(final PropertyDescriptor[] props) {
+            final BeanMapper.Accessor[] accessors = new BeanMapper.Accessor[props.length];
+            for (int i = 0; i < props.length; i++) {
+                accessors[i] = new BeanMapper.Accessor(props[i].getName(),
+                        props[i].getPropertyType() == null ? null : props[i].getWriteMethod());
+            }
+            return accessors;
+        }
+    }
+
+    /**
+     * Case insensitive index from property name to position in the
+     * {@code PropertyDescriptor[]} of a bean class, or from constructor
+     * parameter name to parameter position.
+     */
+    private static final class PropertyIndex {
+
+        private final Map<String, Integer> byName = new HashMap<>();
+
+        private final Map<String, Integer> byNameWithoutUnderscores = new HashMap<>();
+
+        PropertyIndex(final PropertyDescriptor[] props) {
+            for (int i = 0; i < props.length; i++) {
+                this.add(props[i].getName(), i);
+            }
+        }
+
+        PropertyIndex(final String[] names) {
+            for (int i = 0; i < names.length; i++) {
+                this.add(names[i], i);
+            }
+        }
+
+        private void add(final String propertyName, final int i) {
+            final String name = propertyName.toLowerCase(Locale.ROOT);
+            this.byName.putIfAbsent(name, i);
+            this.byNameWithoutUnderscores.putIfAbsent(name.replace("_", ""), i);
+        }
+
+        int indexOf(final String propertyName) {
+            final String name = propertyName.toLowerCase(Locale.ROOT);
+            Integer i = this.byName.get(name);
+            if (i == null) {
+                i = this.byNameWithoutUnderscores.get(name.replace("_", ""));
+            }
+            return i == null ? PROPERTY_NOT_FOUND : i;
+        }
+    }
+
+    /**
+     * The column labels of a {@code ResultSet}, used as cache key for the
+     * column to property mapping.
+     */
+    private static final class ColumnSignature {
+
+        /**
+         * The column labels; the 0th element is unused so that JDBC column
+         * indexes can be used directly.
+         */
+        final String[] labels;
+
+        private final int hash;
+
+        private ColumnSignature(final String[] labels) {
+            this.labels = labels;
+            this.hash = Arrays.hashCode(labels);
+        }
+
+        static ColumnSignature of(final ResultSetMetaData rsmd) throws SQLException {
+            final int cols = rsmd.getColumnCount();
+            final String[] labels = new String[cols + 1];
+            for (int i = 1; i <= cols; i++) {
+                String colName = rsmd.getColumnLabel(i);
+                if (colName == null || colName.length() == 0) {
+                    colName = rsmd.getColumnName(i);
+                }
+                labels[i] = colName;
+            }
+            return new ColumnSignature(labels);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof ColumnSignature
+                    && Arrays.equals(this.labels, ((ColumnSignature) o).labels);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.AliceTheCat;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the column bound to a constructor parameter when beans are created
+ * through a constructor.  The name is matched like a property name: case
+ * insensitive, ignoring underscores, after the column to property
+ * overrides of the {@link BeanProcessor}.
+ *
+ * @see BeanConstructor
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface ColumnName {
+
+    /**
+     * @return The column name.
+     */
+    String value();
+}
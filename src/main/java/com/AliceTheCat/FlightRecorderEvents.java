@@ -0,0 +1,221 @@
+package com.AliceTheCat;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The Java Flight Recorder events emitted by {@link QueryRunner} and
+ * {@link BeanProcessor}, listed under "dbutils-lite" in JDK Mission Control.
+ *
+ * <p>
+ * Each event is created and begun before the work it times and finished
+ * with its {@code finish} method.  When no recording has the event
+ * enabled, {@code shouldCommit()} is false, the fields are never set and
+ * the JIT removes the allocation, so the cost is a few instructions.  The
+ * SQL is recorded as its {@link MetricsRegistry#fingerprint(String)
+ * fingerprint}, computed only for committed events.  All but the mapping
+ * plan event, which is rare, have a 1 ms default threshold so that a
+ * recording with default settings isn't flooded by fast statements.
+ * </p>
+ */
+final class FlightRecorderEvents {
+
+    private static final String CATEGORY = "dbutils-lite";
+
+    /**
+     * The default duration below which the per-statement events are not
+     * recorded.  Recordings can lower it in their settings, e.g.
+     * {@code com.AliceTheCat.StatementExecute#threshold=0 ms}.
+     */
+    private static final String DEFAULT_THRESHOLD = "1 ms";
+
+    /**
+     * The maximum number of SQL strings whose fingerprint is cached.
+     */
+    private static final int MAX_CACHED_SQL = 1024;
+
+    private static final ConcurrentMap<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    private FlightRecorderEvents() {
+    }
+
+    private static String fingerprint(final String sql) {
+        String fingerprint = fingerprints.get(sql);
+        if (fingerprint == null) {
+            fingerprint = MetricsRegistry.fingerprint(sql);
+            if (fingerprints.size() < MAX_CACHED_SQL) {
+                fingerprints.putIfAbsent(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    @Name("com.AliceTheCat.StatementPrepare")
+    @Label("Statement Prepare")
+    @Category(CATEGORY)
+    @Description("Preparation of a PreparedStatement, or its retrieval from the statement cache")
+    @StackTrace(false)
+    @Threshold(DEFAULT_THRESHOLD)
+    static final class Prepare extends Event {
+
+        @Label("SQL")
+        String sql;
+
+        @Label("Statement Cache")
+        boolean cached;
+
+        void finish(final String sql, final boolean cached) {
+            this.end();
+            if (this.shouldCommit()) {
+                this.sql = fingerprint(sql);
+                this.cached = cached;
+                this.commit();
+            }
+        }
+    }
+
+    @Name("com.AliceTheCat.StatementExecute")
+    @Label("Statement Execute")
+    @Category(CATEGORY)
+    @Description("Preparation, binding and execution of a statement, up to the first row")
+    @Threshold(DEFAULT_THRESHOLD)
+    static final class Execute extends Event {
+
+        @Label("SQL")
+        String sql;
+
+        @Label("Rows Affected")
+        @Description("The update count, or -1 for a query")
+        long rowsAffected;
+
+        void finish(final String sql, final long rowsAffected) {
+            this.end();
+            if (this.shouldCommit()) {
+                this.sql = fingerprint(sql);
+                this.rowsAffected = rowsAffected;
+                this.commit();
+            }
+        }
+    }
+
+    @Name("com.AliceTheCat.FetchAndMap")
+    @Label("Fetch And Map")
+    @Category(CATEGORY)
+    @Description("Fetching the rows of a query and converting them")
+    @StackTrace(false)
+    @Threshold(DEFAULT_THRESHOLD)
+    static final class Fetch extends Event {
+
+        @Label("SQL")
+        String sql;
+
+        @Label("Rows")
+        @Description("The number of rows, or -1 if the handler's result doesn't tell")
+        long rows;
+
+        @Label("Handler")
+        Class<?> handler;
+
+        void finish(final String sql, final long rows, final Class<?> handler) {
+            this.end();
+            if (this.shouldCommit()) {
+                this.sql = fingerprint(sql);
+                this.rows = rows;
+                this.handler = handler;
+                this.commit();
+            }
+        }
+    }
+
+    @Name("com.AliceTheCat.BatchExecute")
+    @Label("Batch Execute")
+    @Category(CATEGORY)
+    @Description("Execution of one chunk of a batch")
+    @StackTrace(false)
+    @Threshold(DEFAULT_THRESHOLD)
+    static final class Batch extends Event {
+
+        @Label("SQL")
+        String sql;
+
+        @Label("Rows")
+        int rows;
+
+        @Label("Rows Affected")
+        long rowsAffected;
+
+        @Label("Estimated Size")
+        @DataAmount
+        long bytes;
+
+        void finish(final String sql, final int rows, final long rowsAffected, final long bytes) {
+            this.end();
+            if (this.shouldCommit()) {
+                this.sql = fingerprint(sql);
+                this.rows = rows;
+                this.rowsAffected = rowsAffected;
+                this.bytes = bytes;
+                this.commit();
+            }
+        }
+    }
+
+    @Name("com.AliceTheCat.MappingPlan")
+    @Label("Mapping Plan Build")
+    @Category(CATEGORY)
+    @Description("Matching the columns of a result to bean properties and compiling the mapper")
+    static final class MappingPlan extends Event {
+
+        @Label("Bean Class")
+        Class<?> beanClass;
+
+        @Label("Columns")
+        int columns;
+
+        void finish(final Class<?> beanClass, final int columns) {
+            this.end();
+            if (this.shouldCommit()) {
+                this.beanClass = beanClass;
+                this.columns = columns;
+                this.commit();
+            }
+        }
+    }
+
+    @Name("com.AliceTheCat.BeanMapping")
+    @Label("Bean Mapping")
+    @Category(CATEGORY)
+    @Description("Conversion of all the rows of a result into beans")
+    @StackTrace(false)
+    @Threshold(DEFAULT_THRESHOLD)
+    static final class Mapping extends Event {
+
+        @Label("Bean Class")
+        Class<?> beanClass;
+
+        @Label("Rows")
+        long rows;
+
+        @Label("Parallel")
+        boolean parallel;
+
+        void finish(final Class<?> beanClass, final long rows, final boolean parallel) {
+            this.end();
+            if (this.shouldCommit()) {
+                this.beanClass = beanClass;
+                this.rows = rows;
+                this.parallel = parallel;
+                this.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.AliceTheCat;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads and writes the properties of one bean class with plain getter and
+ * setter calls.  Implementations are generated at compile time for the
+ * classes annotated {@link Mapped} and registered as services, so
+ * {@link BeanProcessor} and {@link AbstractQueryRunner} find them with a
+ * {@code ServiceLoader} and use them instead of reflection.
+ *
+ * <p>
+ * Columns are still matched to properties by {@link BeanProcessor}, with
+ * the usual overrides and name rules, once per shape of result.  A
+ * generated mapper is only used by processors that have no
+ * {@link ColumnHandler} or {@link PropertyHandler}, map to properties and
+ * don't override the conversion methods, since the generated code reads
+ * columns with the built-in getters only.
+ * </p>
+ *
+ * <p>
+ * Implementations must be thread-safe.
+ * </p>
+ *
+ * @param <T> The bean class.
+ */
+public interface GeneratedMapper<T> {
+
+    /**
+     * @return The bean class.
+     */
+    Class<T> type();
+
+    /**
+     * @return The names of the properties with a setter, in the order of
+     * the {@code columns} argument of {@link #populate}.
+     */
+    String[] writableProperties();
+
+    /**
+     * @return The names of the properties with a getter, in the order of
+     * the {@code property} argument of {@link #read}.
+     */
+    String[] readableProperties();
+
+    /**
+     * @return A new bean, created with the no-arg constructor.
+     */
+    T newInstance();
+
+    /**
+     * Sets the properties of {@code bean} from the current row.
+     *
+     * @param bean The bean to populate.
+     * @param rs The result set, positioned on a valid row.
+     * @param columns The column index of each writable property, or 0 for
+     * the properties that no column maps to.
+     * @throws SQLException if a database error occurs or a value cannot be
+     * converted.
+     */
+    void populate(T bean, ResultSet rs, int[] columns) throws SQLException;
+
+    /**
+     * Reads a property of {@code bean}.
+     *
+     * @param bean The bean to read.
+     * @param property The position of the property in
+     * {@link #readableProperties()}.
+     * @return The property value, boxed if primitive.
+     */
+    Object read(T bean, int property);
+
+    /**
+     * Checks that a column value can be assigned to a property, for the
+     * property types that have no dedicated {@code ResultSet} getter.
+     *
+     * @param <V> The property type.
+     * @param value The column value.
+     * @param type The property class.
+     * @param property The property name, for the error message.
+     * @return {@code value}, or {@code null} for SQL NULL.
+     * @throws SQLException if {@code value} is not an instance of
+     * {@code type}.
+     */
+    static <V> V convert(final Object value, final Class<V> type, final String property) throws SQLException {
+        if (value == null || type.isInstance(value)) {
+            return type.cast(value);
+        }
+        throw new SQLException("Cannot set " + property + ": incompatible types, cannot convert "
+                + value.getClass().getName() + " to " + type.getName());
+    }
+}
@@ -0,0 +1,188 @@
+package com.AliceTheCat;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative {@code long} values, such as
+ * latencies in nanoseconds or row counts.  Values below 16 are counted
+ * exactly; larger values fall in one of 8 buckets per power of two, so a
+ * percentile is within 1/16 of the recorded value.  The histogram has a
+ * fixed size of 488 counters whatever the range of the values.
+ *
+ * <p>
+ * Recording is one atomic increment plus two {@code LongAdder} updates
+ * and never blocks.  Read the values through a {@link #snapshot()}.  This
+ * class is thread safe.
+ * </p>
+ */
+public final class Histogram {
+
+    /**
+     * log2 of the number of buckets per power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The values counted exactly, one bucket each.
+     */
+    private static final int EXACT = SUB_BUCKETS << 1;
+
+    private static final int BUCKETS = EXACT + (Long.SIZE - SUB_BUCKET_BITS - 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value.
+     *
+     * @param value The value; negative values are recorded as 0.
+     */
+    public void record(final long value) {
+        final long v = Math.max(value, 0);
+        this.counts.getAndIncrement(bucket(v));
+        this.count.increment();
+        this.sum.add(v);
+        long current = this.max.get();
+        while (v > current && !this.max.compareAndSet(current, v)) {
+            current = this.max.get();
+        }
+    }
+
+    /**
+     * @return The number of values recorded.
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Copies the current counts.  Values recorded while the copy is taken
+     * may or may not be included.
+     *
+     * @return The snapshot.
+     */
+    public Snapshot snapshot() {
+        final long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = this.counts.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total, this.sum.sum(), this.max.get());
+    }
+
+    private static int bucket(final long value) {
+        if (value < EXACT) {
+            return (int) value;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return EXACT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @return The middle of the values counted in {@code bucket}.
+     */
+    private static long valueOf(final int bucket) {
+        if (bucket < EXACT) {
+            return bucket;
+        }
+        final int exponent = (bucket - EXACT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        final long sub = (bucket - EXACT) % SUB_BUCKETS;
+        final int shift = exponent - SUB_BUCKET_BITS;
+        return ((SUB_BUCKETS + sub) << shift) + (1L << (shift - 1));
+    }
+
+    /**
+     * The values of a {@link Histogram} at one point in time.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+
+        private final long count;
+
+        private final long sum;
+
+        private final long max;
+
+        private Snapshot(final long[] counts, final long count, final long sum, final long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * @return The number of values.
+         */
+        public long getCount() {
+            return this.count;
+        }
+
+        /**
+         * @return The sum of the values.
+         */
+        public long getSum() {
+            return this.sum;
+        }
+
+        /**
+         * @return The largest value, or 0 if there are none.
+         */
+        public long getMax() {
+            return this.max;
+        }
+
+        /**
+         * @return The mean of the values, or 0 if there are none.
+         */
+        public double getMean() {
+            return this.count == 0 ? 0 : (double) this.sum / this.count;
+        }
+
+        /**
+         * Returns the value below or at which the given percentage of the
+         * values fall, e.g. 99 for the 99th percentile.
+         *
+         * @param percentile The percentage, between 0 and 100.
+         * @return The value, or 0 if there are none.
+         */
+        public long getValueAtPercentile(final double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile must be between 0 and 100");
+            }
+            if (this.count == 0) {
+                return 0;
+            }
+            final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * this.count));
+            long seen = 0;
+            for (int i = 0; i < this.counts.length; i++) {
+                seen += this.counts[i];
+                if (seen >= rank) {
+                    return Math.min(valueOf(i), this.max);
+                }
+            }
+            return this.max;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + this.count
+                    + ", mean=" + Math.round(this.getMean())
+                    + ", p50=" + this.getValueAtPercentile(50)
+                    + ", p90=" + this.getValueAtPercentile(90)
+                    + ", p99=" + this.getValueAtPercentile(99)
+                    + ", max=" + this.max;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.AliceTheCat;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a bean class for which the {@code dbutils-lite-processor}
+ * annotation processor generates a {@link GeneratedMapper} at compile time.
+ * The class must be public or package-private, not abstract, not generic,
+ * top level or static nested, and have a non-private no-arg constructor.
+ *
+ * <p>
+ * The annotation is only read by the processor; without it on the
+ * processor path, the class is mapped through reflection as usual.
+ * </p>
+ *
+ * @see GeneratedMapper
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface Mapped {
+}
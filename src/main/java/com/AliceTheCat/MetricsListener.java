@@ -0,0 +1,51 @@
+package com.AliceTheCat;
+
+/**
+ * Receives the timings of the statements run by a {@link QueryRunner}.
+ * Methods are called on the thread that ran the statement, after it
+ * succeeded, so implementations must be thread safe and return quickly.
+ * Both methods do nothing by default.
+ *
+ * <p>
+ * A runner created without a listener uses {@link #NONE} and does not
+ * read the clock at all.
+ * </p>
+ *
+ * @see MetricsRegistry
+ */
+public interface MetricsListener {
+
+    /**
+     * The listener of runners without metrics.
+     */
+    MetricsListener NONE = new MetricsListener() {
+    };
+
+    /**
+     * Called after a query has been executed and its rows handled.
+     *
+     * @param sql The SQL of the query, as passed to the runner.
+     * @param executeNanos The time spent preparing, binding and executing
+     * the statement, in nanoseconds.
+     * @param fetchNanos The time spent fetching the rows and converting them
+     * with the handler, in nanoseconds.
+     * @param rows The number of rows returned, or -1 if the handler's result
+     * doesn't tell.
+     */
+    default void queryExecuted(final String sql, final long executeNanos, final long fetchNanos,
+                               final long rows) {
+    }
+
+    /**
+     * Called after an INSERT, UPDATE, DELETE or batch has been executed.
+     *
+     * @param sql The SQL of the statement, as passed to the runner.
+     * @param executeNanos The time spent preparing, binding and executing
+     * the statement, in nanoseconds; for a batch, the total over all chunks.
+     * @param rowsAffected The number of rows affected; for a batch, the sum
+     * over all rows, counting a row the driver doesn't report on as one.
+     */
+    default void updateExecuted(final String sql, final long executeNanos, final long rowsAffected) {
+    }
+
+}
@@ -0,0 +1,272 @@
+package com.AliceTheCat;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * An in-process {@link MetricsListener} keeping {@link Histogram}s per
+ * statement.  Statements are grouped by their fingerprint: the SQL with
+ * comments removed, white space collapsed, unquoted words lower-cased,
+ * literals replaced by {@code ?} and lists of {@code ?} shortened, so that
+ * {@code select * from t where id in (1, 2)} and
+ * {@code SELECT * FROM t WHERE id IN (?, ?, ?)} share a fingerprint.
+ *
+ * <pre>
+ * MetricsRegistry metrics = new MetricsRegistry();
+ * QueryRunner runner = new QueryRunner(null, null, metrics, false);
+ * ...
+ * for (Map.Entry&lt;String, MetricsRegistry.StatementMetrics&gt; e : metrics.getStatements().entrySet()) {
+ *     System.out.println(e.getKey() + ": " + e.getValue().getExecuteTime().snapshot());
+ * }
+ * </pre>
+ *
+ * <p>
+ * The number of fingerprints is bounded; once the limit is reached, new
+ * statements are recorded under {@link #OTHER}.  This class is thread
+ * safe.
+ * </p>
+ */
+public class MetricsRegistry implements MetricsListener {
+
+    /**
+     * The maximum number of fingerprints if not supplied in the constructor.
+     */
+    public static final int DEFAULT_MAX_STATEMENTS = 1000;
+
+    /**
+     * The fingerprint of the statements recorded once the limit is reached.
+     */
+    public static final String OTHER = "(other)";
+
+    /**
+     * The maximum number of SQL strings whose fingerprint is cached.
+     */
+    private static final int MAX_CACHED_SQL = 1024;
+
+    /**
+     * Two or more placeholders separated by commas.
+     */
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(?: ?, ?\\?)+");
+
+    private final int maxStatements;
+
+    private final ConcurrentMap<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, StatementMetrics> statements = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry of at most {@link #DEFAULT_MAX_STATEMENTS}
+     * fingerprints.
+     */
+    public MetricsRegistry() {
+        this(DEFAULT_MAX_STATEMENTS);
+    }
+
+    /**
+     * Creates a registry.
+     *
+     * @param maxStatements The maximum number of fingerprints.
+     */
+    public MetricsRegistry(final int maxStatements) {
+        if (maxStatements <= 0) {
+            throw new IllegalArgumentException("maxStatements must be positive");
+        }
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    public void queryExecuted(final String sql, final long executeNanos, final long fetchNanos, final long rows) {
+        final StatementMetrics metrics = this.metrics(sql);
+        metrics.executeTime.record(executeNanos);
+        metrics.fetchTime.record(fetchNanos);
+        if (rows >= 0) {
+            metrics.rows.record(rows);
+        }
+    }
+
+    @Override
+    public void updateExecuted(final String sql, final long executeNanos, final long rowsAffected) {
+        final StatementMetrics metrics = this.metrics(sql);
+        metrics.executeTime.record(executeNanos);
+        metrics.rowsAffected.record(rowsAffected);
+    }
+
+    /**
+     * @param sql The SQL of a statement.
+     * @return The metrics of its fingerprint, or {@code null} if it never
+     * ran.
+     */
+    public StatementMetrics get(final String sql) {
+        return this.statements.get(this.fingerprintOf(sql));
+    }
+
+    /**
+     * @return The metrics by fingerprint, as a live unmodifiable view.
+     */
+    public Map<String, StatementMetrics> getStatements() {
+        return Collections.unmodifiableMap(this.statements);
+    }
+
+    /**
+     * Forgets all the metrics.
+     */
+    public void clear() {
+        this.statements.clear();
+    }
+
+    private StatementMetrics metrics(final String sql) {
+        final String fingerprint = this.fingerprintOf(sql);
+        StatementMetrics metrics = this.statements.get(fingerprint);
+        if (metrics == null) {
+            final String key = this.statements.size() < this.maxStatements ? fingerprint : OTHER;
+            metrics = this.statements.computeIfAbsent(key, k -> new StatementMetrics());
+        }
+        return metrics;
+    }
+
+    private String fingerprintOf(final String sql) {
+        String fingerprint = this.fingerprints.get(sql);
+        if (fingerprint == null) {
+            fingerprint = fingerprint(sql);
+            if (this.fingerprints.size() < MAX_CACHED_SQL) {
+                this.fingerprints.putIfAbsent(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Normalizes {@code sql} so that executions of the same statement with
+     * different literals, list lengths or keyword case share one
+     * fingerprint.  Quoted identifiers are kept as written.
+     *
+     * @param sql The SQL.
+     * @return The fingerprint.
+     */
+    public static String fingerprint(final String sql) {
+        final StringBuilder out = new StringBuilder(sql.length());
+        final int length = sql.length();
+        boolean space = false;
+        int i = 0;
+        while (i < length) {
+            final char c = sql.charAt(i);
+            final char next = i + 1 < length ? sql.charAt(i + 1) : 0;
+            if (Character.isWhitespace(c)) {
+                space = true;
+                i++;
+                continue;
+            }
+            if (c == '-' && next == '-') {
+                while (i < length && sql.charAt(i) != '\n') {
+                    i++;
+                }
+                space = true;
+                continue;
+            }
+            if (c == '/' && next == '*') {
+                final int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                space = true;
+                continue;
+            }
+
+            if (space && out.length() > 0) {
+                out.append(' ');
+            }
+            space = false;
+
+            if (c == '\'') {
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i++) == '\'') {
+                        if (i < length && sql.charAt(i) == '\'') {
+                            i++;
+                        } else {
+                            break;
+                        }
+                    }
+                }
+                out.append('?');
+            } else if (c == '"' || c == '`') {
+                final int end = sql.indexOf(c, i + 1);
+                final int stop = end < 0 ? length : end + 1;
+                out.append(sql, i, stop);
+                i = stop;
+            } else if (Character.isDigit(c) || (c == '.' && Character.isDigit(next))) {
+                while (i < length && (isIdentifierPart(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (isIdentifierPart(c)) {
+                while (i < length && isIdentifierPart(sql.charAt(i))) {
+                    out.append(Character.toLowerCase(sql.charAt(i)));
+                    i++;
+                }
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return PLACEHOLDER_LIST.matcher(out).replaceAll("?, ...");
+    }
+
+    private static boolean isIdentifierPart(final char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    /**
+     * The histograms of one statement fingerprint.
+     */
+    public static final class StatementMetrics {
+
+        private final Histogram executeTime = new Histogram();
+
+        private final Histogram fetchTime = new Histogram();
+
+        private final Histogram rows = new Histogram();
+
+        private final Histogram rowsAffected = new Histogram();
+
+        private StatementMetrics() {
+        }
+
+        /**
+         * @return The time spent preparing, binding and executing, in
+         * nanoseconds.  Its count is the number of executions.
+         */
+        public Histogram getExecuteTime() {
+            return this.executeTime;
+        }
+
+        /**
+         * @return The time spent fetching and converting the rows of
+         * queries, in nanoseconds.
+         */
+        public Histogram getFetchTime() {
+            return this.fetchTime;
+        }
+
+        /**
+         * @return The number of rows returned by queries whose handler's
+         * result tells it.
+         */
+        public Histogram getRows() {
+            return this.rows;
+        }
+
+        /**
+         * @return The number of rows affected by updates.
+         */
+        public Histogram getRowsAffected() {
+            return this.rowsAffected;
+        }
+
+        @Override
+        public String toString() {
+            return "execute[" + this.executeTime.snapshot() + "], fetch[" + this.fetchTime.snapshot() + "]";
+        }
+    }
+}
@@ -0,0 +1,573 @@
+package com.AliceTheCat;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * A cache of query results for {@link QueryRunner}, for queries over
+ * slowly changing tables.  Results are keyed by the SQL, the parameters
+ * and the {@code ResultSetHandler}, which is compared with
+ * {@code equals}; reuse handler instances to get hits.
+ *
+ * <p>
+ * Only queries that read at least one of the tables registered with the
+ * {@link Builder} are cached.  When {@code update}, {@code insert} or
+ * {@code insertBatch} run SQL naming a registered table, every cached
+ * result that read it is dropped.  Table names are found by scanning the
+ * SQL for the registered names, ignoring case and schema prefixes.  Writes
+ * done outside the runner are only picked up through
+ * {@link #invalidate(String)} or the time to live.
+ * </p>
+ *
+ * <p>
+ * Keys don't include the connection, so one cache must only serve
+ * connections to the same database and schema; use a cache per database
+ * or tenant.  Queries run on a connection with auto-commit disabled
+ * bypass the cache, since they may see uncommitted rows.  A write is
+ * invalidated when it runs, not when its transaction commits: a query on
+ * another connection in between may cache the old rows, so code that
+ * writes inside a transaction must call {@link #invalidate(String)} for
+ * the tables it wrote once it has committed.
+ * </p>
+ *
+ * <p>
+ * Entries are evicted in least recently used order once the number of
+ * entries or their total weight exceeds its limit, and expire after the
+ * time to live.  Concurrent misses on the same key run the query once; the
+ * other callers wait for its result.  Cached results are shared between
+ * callers and must not be modified.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public class QueryCache {
+
+    /**
+     * The maximum number of entries when none is configured.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    /**
+     * The maximum number of distinct SQL strings whose tables are
+     * remembered.
+     */
+    private static final int MAX_CACHED_SQL = 1024;
+
+    private static final String[] NO_TABLES = new String[0];
+
+    private final int maxEntries;
+
+    private final long maxWeight;
+
+    private final long ttlNanos;
+
+    private final ToLongFunction<Object> weigher;
+
+    /**
+     * The registered tables, lower-cased.
+     */
+    private final Set<String> tables;
+
+    /**
+     * The registered tables each SQL string refers to.
+     */
+    private final ConcurrentMap<String, String[]> tablesBySql = new ConcurrentHashMap<>();
+
+    /**
+     * Cached results in least recently used first order.
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Results being loaded.
+     */
+    private final Map<Key, CompletableFuture<Object>> loading = new HashMap<>();
+
+    /**
+     * Incremented on every invalidation, so that a load overlapping one
+     * doesn't cache a result that may be stale.
+     */
+    private long epoch;
+
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder loadFailures = new LongAdder();
+
+    private final LongAdder loadTime = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    private QueryCache(final Builder builder) {
+        this.maxEntries = builder.maxEntries;
+        this.maxWeight = builder.maxWeight;
+        this.ttlNanos = builder.ttl == null ? 0 : builder.ttl.toNanos();
+        this.weigher = builder.weigher;
+        this.tables = new TreeSet<>(builder.tables);
+    }
+
+    /**
+     * Returns the cached result of a query, or runs it through
+     * {@code loader} and caches the result.
+     *
+     * @param <T> The type of the result.
+     * @param sql The SQL statement.
+     * @param rsh The handler that builds the result.
+     * @param params The query replacement parameters.
+     * @param loader Runs the query on a miss.
+     * @return The result.
+     * @throws SQLException if the query fails.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(final String sql, final ResultSetHandler<T> rsh, final Object[] params, final Loader<T> loader)
+            throws SQLException {
+        final String[] queryTables = this.tablesOf(sql);
+        if (queryTables.length == 0) {
+            return loader.load();
+        }
+
+        final Key key = new Key(sql, params, rsh);
+        final CompletableFuture<Object> pending;
+        final CompletableFuture<Object> owned;
+        final long startEpoch;
+        synchronized (this) {
+            final Entry entry = this.entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt == 0 || entry.expiresAt - System.nanoTime() > 0) {
+                    this.hits.increment();
+                    return (T) entry.value;
+                }
+                this.remove(key);
+            }
+            pending = this.loading.get(key);
+            if (pending == null) {
+                owned = new CompletableFuture<>();
+                this.loading.put(key, owned);
+            } else {
+                owned = null;
+            }
+            startEpoch = this.epoch;
+        }
+
+        if (owned == null) {
+            this.hits.increment();
+            return (T) await(pending);
+        }
+
+        this.misses.increment();
+        final long start = System.nanoTime();
+        final T value;
+        try {
+            value = loader.load();
+        } catch (SQLException | RuntimeException | Error e) {
+            this.loadFailures.increment();
+            synchronized (this) {
+                this.loading.remove(key);
+            }
+            owned.completeExceptionally(e);
+            throw e;
+        }
+        final long now = System.nanoTime();
+        this.loadTime.add(now - start);
+
+        final long valueWeight = this.weigher == null ? 1 : this.weigher.applyAsLong(value);
+        synchronized (this) {
+            this.loading.remove(key);
+            if (startEpoch == this.epoch && valueWeight <= this.maxWeight) {
+                this.remove(key);
+                this.entries.put(key, new Entry(value, valueWeight, queryTables,
+                        this.ttlNanos == 0 ? 0 : (now + this.ttlNanos) | 1));
+                this.weight += valueWeight;
+                this.evict();
+            }
+        }
+        owned.complete(value);
+        return value;
+    }
+
+    private static Object await(final CompletableFuture<Object> pending) throws SQLException {
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a cached query", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw new SQLException(cause.getMessage(), ((SQLException) cause).getSQLState(),
+                        ((SQLException) cause).getErrorCode(), cause);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SQLException(cause);
+        }
+    }
+
+    /**
+     * Drops the cached results reading the registered tables that
+     * {@code sql} refers to.
+     *
+     * @param sql A statement that may have changed data.
+     */
+    void invalidateTablesOf(final String sql) {
+        if (sql == null) {
+            return;
+        }
+        final String[] written = this.tablesOf(sql);
+        if (written.length > 0) {
+            this.invalidate(written);
+        }
+    }
+
+    /**
+     * Drops the cached results that read the given table.  Call it after
+     * committing a transaction that wrote the table.
+     *
+     * @param table The table name, in any case.
+     */
+    public void invalidate(final String table) {
+        this.invalidate(new String[]{table.toLowerCase(Locale.ENGLISH)});
+    }
+
+    /**
+     * Drops all the cached results.
+     */
+    public synchronized void invalidateAll() {
+        this.epoch++;
+        this.invalidations.add(this.entries.size());
+        this.entries.clear();
+        this.weight = 0;
+    }
+
+    private synchronized void invalidate(final String[] written) {
+        this.epoch++;
+        final Iterator<Map.Entry<Key, Entry>> it = this.entries.entrySet().iterator();
+        while (it.hasNext()) {
+            final Entry entry = it.next().getValue();
+            if (entry.reads(written)) {
+                it.remove();
+                this.weight -= entry.weight;
+                this.invalidations.increment();
+            }
+        }
+    }
+
+    private void remove(final Key key) {
+        final Entry removed = this.entries.remove(key);
+        if (removed != null) {
+            this.weight -= removed.weight;
+        }
+    }
+
+    /**
+     * Evicts the least recently used entries until both limits are met.
+     */
+    private void evict() {
+        final Iterator<Entry> it = this.entries.values().iterator();
+        while ((this.entries.size() > this.maxEntries || this.weight > this.maxWeight) && it.hasNext()) {
+            this.weight -= it.next().weight;
+            it.remove();
+            this.evictions.increment();
+        }
+    }
+
+    /**
+     * Finds the registered tables named in {@code sql}.
+     */
+    private String[] tablesOf(final String sql) {
+        String[] found = this.tablesBySql.get(sql);
+        if (found == null) {
+            found = this.scan(sql);
+            if (this.tablesBySql.size() < MAX_CACHED_SQL) {
+                this.tablesBySql.putIfAbsent(sql, found);
+            }
+        }
+        return found;
+    }
+
+    private String[] scan(final String sql) {
+        final List<String> found = new ArrayList<>();
+        final String lower = sql.toLowerCase(Locale.ENGLISH);
+        int i = 0;
+        while (i < lower.length()) {
+            if (!isIdentifierPart(lower.charAt(i))) {
+                i++;
+                continue;
+            }
+            final int start = i;
+            while (i < lower.length() && isIdentifierPart(lower.charAt(i))) {
+                i++;
+            }
+            final String word = lower.substring(start, i);
+            if (this.tables.contains(word) && !found.contains(word)) {
+                found.add(word);
+            }
+        }
+        return found.isEmpty() ? NO_TABLES : found.toArray(NO_TABLES);
+    }
+
+    private static boolean isIdentifierPart(final char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    /**
+     * @return The number of queries answered from the cache, including
+     * the ones that waited for a concurrent load.
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return The number of cacheable queries that had to run.
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return The fraction of cacheable queries answered from the cache,
+     * or 0 if there were none.
+     */
+    public double getHitRatio() {
+        final long hits = this.hits.sum();
+        final long total = hits + this.misses.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * @return The number of loads that failed.
+     */
+    public long getLoadFailureCount() {
+        return this.loadFailures.sum();
+    }
+
+    /**
+     * @return The total time spent in successful loads, in nanoseconds.
+     */
+    public long getTotalLoadTime() {
+        return this.loadTime.sum();
+    }
+
+    /**
+     * @return The number of entries dropped to respect the size or weight
+     * limit.
+     */
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * @return The number of entries dropped because a table they read was
+     * written.
+     */
+    public long getInvalidationCount() {
+        return this.invalidations.sum();
+    }
+
+    /**
+     * @return The number of cached results, including expired ones not
+     * yet dropped.
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * @return The total weight of the cached results.
+     */
+    public synchronized long getWeight() {
+        return this.weight;
+    }
+
+    /**
+     * Runs a query on a cache miss.
+     *
+     * @param <T> The type of the result.
+     */
+    @FunctionalInterface
+    interface Loader<T> {
+
+        T load() throws SQLException;
+    }
+
+    /**
+     * A query: the SQL, its parameters and the handler.
+     */
+    private static final class Key {
+
+        private final String sql;
+
+        private final Object[] params;
+
+        private final ResultSetHandler<?> rsh;
+
+        private final int hash;
+
+        Key(final String sql, final Object[] params, final ResultSetHandler<?> rsh) {
+            this.sql = sql;
+            this.params = params == null ? null : params.clone();
+            this.rsh = rsh;
+            this.hash = (sql.hashCode() * 31 + Arrays.deepHashCode(this.params)) * 31 + rsh.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return this.hash == other.hash
+                    && this.sql.equals(other.sql)
+                    && this.rsh.equals(other.rsh)
+                    && Arrays.deepEquals(this.params, other.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    /**
+     * A cached result.
+     */
+    private static final class Entry {
+
+        private final Object value;
+
+        private final long weight;
+
+        private final String[] tables;
+
+        /**
+         * The {@code System.nanoTime()} the entry expires at, or 0 if it
+         * doesn't.
+         */
+        private final long expiresAt;
+
+        Entry(final Object value, final long weight, final String[] tables, final long expiresAt) {
+            this.value = value;
+            this.weight = weight;
+            this.tables = tables;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean reads(final String[] written) {
+            for (final String table : this.tables) {
+                for (final String w : written) {
+                    if (table.equals(w)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Builder class for {@code QueryCache} for more flexible construction.
+     */
+    public static final class Builder {
+
+        private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+        private long maxWeight = Long.MAX_VALUE;
+
+        private ToLongFunction<Object> weigher;
+
+        private Duration ttl;
+
+        private final Set<String> tables = new TreeSet<>();
+
+        /**
+         * @param tables Tables whose queries are cached and invalidated on
+         *               writes.
+         * @return This builder for chaining.
+         */
+        public Builder tables(final String... tables) {
+            for (final String table : tables) {
+                if (table == null || table.isEmpty()) {
+                    throw new IllegalArgumentException("table name cannot be empty");
+                }
+                this.tables.add(table.toLowerCase(Locale.ENGLISH));
+            }
+            return this;
+        }
+
+        /**
+         * @param maxEntries The maximum number of cached results.
+         * @return This builder for chaining.
+         */
+        public Builder maxEntries(final int maxEntries) {
+            if (maxEntries <= 0) {
+                throw new IllegalArgumentException("maxEntries must be positive");
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * @param maxWeight The maximum total weight of the cached results.
+         * @param weigher   Computes the weight of a result, e.g. its number
+         *                  of rows.
+         * @return This builder for chaining.
+         */
+        public Builder maxWeight(final long maxWeight, final ToLongFunction<Object> weigher) {
+            if (maxWeight <= 0) {
+                throw new IllegalArgumentException("maxWeight must be positive");
+            }
+            if (weigher == null) {
+                throw new IllegalArgumentException("weigher cannot be null");
+            }
+            this.maxWeight = maxWeight;
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * @param ttl How long a result stays cached, or {@code null} to keep
+         *            it until evicted or invalidated.
+         * @return This builder for chaining.
+         */
+        public Builder ttl(final Duration ttl) {
+            if (ttl != null && (ttl.isNegative() || ttl.isZero())) {
+                throw new IllegalArgumentException("ttl must be positive");
+            }
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * @return A new and configured {@link QueryCache}.
+         */
+        public QueryCache build() {
+            return new QueryCache(this);
+        }
+    }
+}
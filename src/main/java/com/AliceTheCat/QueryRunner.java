@@ -1,6 +1,16 @@
 package com.AliceTheCat;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Executes SQL queries with pluggable strategies for handling
@@ -10,11 +20,139 @@ import java.sql.*;
  */
 public class QueryRunner extends AbstractQueryRunner {
 
+    /**
+     * The cache of query results, or {@code null}.
+     */
+    private final QueryCache queryCache;
+
     /**
      * Constructor for QueryRunner.
      */
     public QueryRunner() {
-        super();
+        this(null, null, false);
+    }
+
+    /**
+     * Constructor for QueryRunner that reuses {@code PreparedStatement}s
+     * through the given cache.
+     *
+     * @param statementCache The statement cache, or {@code null} to prepare
+     *                       and close statements on every call.
+     */
+    public QueryRunner(final StatementCache statementCache) {
+        this(statementCache, null, false);
+    }
+
+    /**
+     * Constructor for QueryRunner that caches query results.
+     *
+     * @param queryCache The cache of query results, or {@code null} to run
+     *                   every query.
+     */
+    public QueryRunner(final QueryCache queryCache) {
+        this(null, queryCache, false);
+    }
+
+    /**
+     * Constructor for QueryRunner that reports statement timings.
+     *
+     * @param metricsListener The listener receiving statement timings, or
+     *                        {@code null} for none.
+     */
+    public QueryRunner(final MetricsListener metricsListener) {
+        this(null, null, metricsListener, false);
+    }
+
+    /**
+     * Constructor for QueryRunner that controls the use of
+     * {@code ParameterMetaData}.
+     *
+     * @param pmdKnownBroken Some drivers don't support
+     *                       {@link ParameterMetaData#getParameterType(int)};
+     *                       if {@code pmdKnownBroken} is set to true, we won't
+     *                       even try it; if false, we'll try it, and if it
+     *                       breaks, we'll remember not to use it again.
+     */
+    public QueryRunner(final boolean pmdKnownBroken) {
+        this(null, null, pmdKnownBroken);
+    }
+
+    /**
+     * Constructor for QueryRunner that reuses {@code PreparedStatement}s
+     * through the given cache and controls the use of
+     * {@code ParameterMetaData}.
+     *
+     * @param statementCache The statement cache, or {@code null} to prepare
+     *                       and close statements on every call.
+     * @param pmdKnownBroken Whether to skip {@code ParameterMetaData}
+     *                       entirely.
+     */
+    public QueryRunner(final StatementCache statementCache, final boolean pmdKnownBroken) {
+        this(statementCache, null, pmdKnownBroken);
+    }
+
+    /**
+     * Constructor for QueryRunner that reuses {@code PreparedStatement}s and
+     * caches query results.
+     *
+     * @param statementCache The statement cache, or {@code null} to prepare
+     *                       and close statements on every call.
+     * @param queryCache     The cache of query results, or {@code null} to
+     *                       run every query.
+     * @param pmdKnownBroken Whether to skip {@code ParameterMetaData}
+     *                       entirely.
+     */
+    public QueryRunner(final StatementCache statementCache, final QueryCache queryCache,
+                       final boolean pmdKnownBroken) {
+        this(statementCache, queryCache, null, pmdKnownBroken);
+    }
+
+    /**
+     * Constructor for QueryRunner with all the options.
+     *
+     * @param statementCache  The statement cache, or {@code null} to prepare
+     *                        and close statements on every call.
+     * @param queryCache      The cache of query results, or {@code null} to
+     *                        run every query.
+     * @param metricsListener The listener receiving statement timings, or
+     *                        {@code null} for none.
+     * @param pmdKnownBroken  Whether to skip {@code ParameterMetaData}
+     *                        entirely.
+     */
+    public QueryRunner(final StatementCache statementCache, final QueryCache queryCache,
+                       final MetricsListener metricsListener, final boolean pmdKnownBroken) {
+        super(statementCache, metricsListener, pmdKnownBroken);
+        this.queryCache = queryCache;
+    }
+
+    /**
+     * @return The cache of query results, or {@code null}.
+     */
+    public QueryCache getQueryCache() {
+        return this.queryCache;
+    }
+
+    /**
+     * Execute an SQL SELECT query with replacement parameters.  The
+     * caller is responsible for closing the connection.  The result comes
+     * from the {@link QueryCache} when one is configured, the query is
+     * cached and {@code conn} is in auto-commit mode.
+     *
+     * @param <T>    The type of object that the handler returns
+     * @param conn   The connection to execute the query in.
+     * @param sql    The query to execute.
+     * @param rsh    The handler that converts the results into an object.
+     * @param params The replacement parameters.
+     * @return The object returned by the handler.
+     * @throws SQLException if a database access error occurs
+     */
+    public <T> T query(final Connection conn, final String sql, final ResultSetHandler<T> rsh, final Object... params)
+            throws SQLException {
+        // Inside a transaction the query may see uncommitted rows
+        if (this.queryCache != null && sql != null && rsh != null && conn != null && conn.getAutoCommit()) {
+            return this.queryCache.get(sql, rsh, params, () -> this.query(conn, false, sql, rsh, params));
+        }
+        return this.query(conn, false, sql, rsh, params);
     }
 
     /**
@@ -45,32 +183,263 @@ public class QueryRunner extends AbstractQueryRunner {
             throw new SQLException("ResultSetHandler cannot be null");
         }
 
+        Statement stmt = null;
         ResultSet rs = null;
         T result = null;
 
         try {
+            final long start = this.metricsTime();
+            final FlightRecorderEvents.Execute execute = new FlightRecorderEvents.Execute();
+            execute.begin();
             if (params != null && params.length > 0) {
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                this.fillStatement(stmt, params);
-                rs = stmt.executeQuery();
+                PreparedStatement ps = this.prepareStatement(conn, sql);
+                stmt = ps;
+                this.fillStatement(sql, ps, params);
+                rs = this.wrap(ps.executeQuery());
+            } else {
+                stmt = conn.createStatement();
+                rs = this.wrap(stmt.executeQuery(sql));
+            }
+            execute.finish(sql, -1);
+            final long executed = this.metricsTime();
+            final FlightRecorderEvents.Fetch fetch = new FlightRecorderEvents.Fetch();
+            fetch.begin();
+            result = rsh.handle(rs);
+            fetch.finish(sql, rowCount(result), rsh.getClass());
+            if (this.getMetricsListener() != MetricsListener.NONE) {
+                this.getMetricsListener().queryExecuted(sql, executed - start, this.metricsTime() - executed,
+                        rowCount(result));
+            }
+        } catch (SQLException e) {
+            this.rethrow(e, sql, params);
+        } finally {
+            try {
+                this.close(rs);
+            } finally {
+                this.close(stmt);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Executes the given SELECT SQL query and returns its rows as a lazy
+     * {@code Stream}, using the driver's default fetch size.
+     *
+     * @param <T>    The type of object each row is mapped to.
+     * @param conn   The connection to use for the query call.
+     * @param sql    The SQL statement to execute.
+     * @param mapper The mapper used to convert each row.
+     * @param params The query replacement parameters.
+     * @return The mapped rows; the stream must be closed.
+     * @throws SQLException If there are database or parameter errors.
+     * @see #stream(Connection, int, String, RowMapper, Object...)
+     */
+    public <T> Stream<T> stream(final Connection conn, final String sql, final RowMapper<T> mapper,
+                                final Object... params) throws SQLException {
+        return this.stream(conn, 0, sql, mapper, params);
+    }
+
+    /**
+     * Executes the given SELECT SQL query and returns its rows as a lazy
+     * {@code Stream}.  Rows are fetched and mapped one at a time as the
+     * stream is consumed, so memory use does not depend on the size of the
+     * result.
+     *
+     * <p>
+     * The {@code ResultSet} and the {@code Statement} are closed when the
+     * last row has been consumed or when the stream is closed, whichever
+     * comes first.  Callers should open the stream in a try-with-resources
+     * block.  The connection is left open and must stay open while the
+     * stream is consumed.  A {@code SQLException} raised while fetching is
+     * rethrown as the cause of a {@code RuntimeException}.
+     * </p>
+     *
+     * @param <T>       The type of object each row is mapped to.
+     * @param conn      The connection to use for the query call.
+     * @param fetchSize The number of rows the driver should fetch per round
+     *                  trip, or 0 to use the driver's default.  Some drivers
+     *                  only stream with specific settings (e.g. auto-commit
+     *                  off for PostgreSQL).
+     * @param sql       The SQL statement to execute.
+     * @param mapper    The mapper used to convert each row.
+     * @param params    The query replacement parameters.
+     * @return The mapped rows; the stream must be closed.
+     * @throws SQLException If there are database or parameter errors.
+     */
+    public <T> Stream<T> stream(final Connection conn, final int fetchSize, final String sql,
+                                final RowMapper<T> mapper, final Object... params) throws SQLException {
+        if (conn == null) {
+            throw new SQLException("database connection is null");
+        } else if (conn.isClosed()) {
+            throw new SQLException("database connection is closed");
+        }
+
+        if (sql == null) {
+            throw new SQLException("SQL query cannot be null");
+        }
+
+        if (mapper == null) {
+            throw new SQLException("RowMapper cannot be null");
+        }
 
-                stmt.close();
+        if (fetchSize < 0) {
+            throw new SQLException("fetch size cannot be negative");
+        }
+
+        Statement stmt = null;
+        ResultSet rs = null;
+        final long start = this.metricsTime();
 
-                result = rsh.handle(rs);
+        try {
+            final FlightRecorderEvents.Execute execute = new FlightRecorderEvents.Execute();
+            execute.begin();
+            if (params != null && params.length > 0) {
+                PreparedStatement ps = this.prepareStatement(conn, sql);
+                stmt = ps;
+                // also resets the hint on a statement reused from the cache
+                ps.setFetchSize(fetchSize);
+                this.fillStatement(sql, ps, params);
+                rs = this.wrap(ps.executeQuery());
             } else {
-                Statement stmt = conn.createStatement();
-                rs = stmt.executeQuery(sql);
+                stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                if (fetchSize > 0) {
+                    stmt.setFetchSize(fetchSize);
+                }
+                rs = this.wrap(stmt.executeQuery(sql));
+            }
+            execute.finish(sql, -1);
+        } catch (SQLException e) {
+            try {
+                try {
+                    this.close(rs);
+                } finally {
+                    this.close(stmt);
+                }
+            } catch (SQLException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            this.rethrow(e, sql, params);
+        }
+
+        final RowSpliterator<T> rows = new RowSpliterator<>(sql, stmt, rs, mapper, this.metricsTime() - start);
+        return StreamSupport.stream(rows, false).onClose(rows::close);
+    }
+
+    /**
+     * Executes the given SELECT SQL query and passes its rows to
+     * {@code callback}, using the driver's default fetch size.
+     *
+     * @param conn     The connection to use for the query call.
+     * @param sql      The SQL statement to execute.
+     * @param callback The callback receiving each row.
+     * @param params   The query replacement parameters.
+     * @return The number of rows processed.
+     * @throws SQLException If there are database or parameter errors.
+     * @see #forEachRow(Connection, int, String, RowCallback, Object...)
+     */
+    public long forEachRow(final Connection conn, final String sql, final RowCallback callback,
+                           final Object... params) throws SQLException {
+        return this.forEachRow(conn, 0, sql, callback, params);
+    }
+
+    /**
+     * Executes the given SELECT SQL query and passes its rows to
+     * {@code callback} one at a time, through a single {@link RowView}
+     * reused for every row.  Nothing is allocated per row by this library,
+     * which suits aggregating or forwarding large results.  The
+     * {@code ResultSet} and the {@code Statement} are closed before this
+     * method returns; the connection is left open.
+     *
+     * @param conn      The connection to use for the query call.
+     * @param fetchSize The number of rows the driver should fetch per round
+     *                  trip, or 0 to use the driver's default.
+     * @param sql       The SQL statement to execute.
+     * @param callback  The callback receiving each row.
+     * @param params    The query replacement parameters.
+     * @return The number of rows processed.
+     * @throws SQLException If there are database or parameter errors.
+     */
+    public long forEachRow(final Connection conn, final int fetchSize, final String sql,
+                           final RowCallback callback, final Object... params) throws SQLException {
+        if (conn == null) {
+            throw new SQLException("database connection is null");
+        } else if (conn.isClosed()) {
+            throw new SQLException("database connection is closed");
+        }
+
+        if (sql == null) {
+            throw new SQLException("SQL query cannot be null");
+        }
 
-                stmt.close();
+        if (callback == null) {
+            throw new SQLException("RowCallback cannot be null");
+        }
 
-                result = rsh.handle(rs);
+        if (fetchSize < 0) {
+            throw new SQLException("fetch size cannot be negative");
+        }
+
+        Statement stmt = null;
+        ResultSet rs = null;
+        long rows = 0;
+
+        try {
+            final long start = this.metricsTime();
+            final FlightRecorderEvents.Execute execute = new FlightRecorderEvents.Execute();
+            execute.begin();
+            if (params != null && params.length > 0) {
+                PreparedStatement ps = this.prepareStatement(conn, sql);
+                stmt = ps;
+                ps.setFetchSize(fetchSize);
+                this.fillStatement(sql, ps, params);
+                rs = this.wrap(ps.executeQuery());
+            } else {
+                stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                if (fetchSize > 0) {
+                    stmt.setFetchSize(fetchSize);
+                }
+                rs = this.wrap(stmt.executeQuery(sql));
+            }
+            execute.finish(sql, -1);
+
+            final long executed = this.metricsTime();
+            final FlightRecorderEvents.Fetch fetch = new FlightRecorderEvents.Fetch();
+            fetch.begin();
+            final RowView row = new RowView(rs);
+            while (rs.next()) {
+                row.advance();
+                callback.row(row);
+                rows++;
+            }
+            fetch.finish(sql, rows, callback.getClass());
+            if (this.getMetricsListener() != MetricsListener.NONE) {
+                this.getMetricsListener().queryExecuted(sql, executed - start, this.metricsTime() - executed, rows);
             }
         } catch (SQLException e) {
             this.rethrow(e, sql, params);
         } finally {
-            rs.close();
+            try {
+                this.close(rs);
+            } finally {
+                this.close(stmt);
+            }
         }
-        return result;
+        return rows;
+    }
+
+    /**
+     * Execute an SQL INSERT, UPDATE, or DELETE query.  The caller is
+     * responsible for closing the connection.
+     *
+     * @param conn   The connection to use to run the query.
+     * @param sql    The SQL to execute.
+     * @param params The query replacement parameters.
+     * @return The number of rows updated.
+     * @throws SQLException if a database access error occurs
+     */
+    public int update(final Connection conn, final String sql, final Object... params) throws SQLException {
+        return this.update(conn, false, sql, params);
     }
 
     /**
@@ -96,29 +465,55 @@ public class QueryRunner extends AbstractQueryRunner {
             throw new SQLException("SQL query cannot be null");
         }
 
+        Statement stmt = null;
         int row = 0;
 
         try {
+            final long start = this.metricsTime();
+            final FlightRecorderEvents.Execute execute = new FlightRecorderEvents.Execute();
+            execute.begin();
             if (params != null && params.length > 0) {
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                this.fillStatement(stmt, params);
-                row = stmt.executeUpdate();
-
-                stmt.close();
+                PreparedStatement ps = this.prepareStatement(conn, sql);
+                stmt = ps;
+                this.fillStatement(sql, ps, params);
+                row = ps.executeUpdate();
             } else {
-                Statement stmt = conn.createStatement();
+                stmt = conn.createStatement();
                 row = stmt.executeUpdate(sql);
-
-                stmt.close();
+            }
+            execute.finish(sql, row);
+            if (this.getMetricsListener() != MetricsListener.NONE) {
+                this.getMetricsListener().updateExecuted(sql, this.metricsTime() - start, row);
             }
         } catch (SQLException e) {
             this.rethrow(e, sql, params);
+        } finally {
+            this.invalidateQueryCache(sql);
+            this.close(stmt);
         }
 
 
         return row;
     }
 
+    /**
+     * Executes the given INSERT SQL statement.  The caller is responsible
+     * for closing the connection.
+     *
+     * @param <T>    The type of object that the handler returns
+     * @param conn   The connection to use for the query call.
+     * @param sql    The SQL statement to execute.
+     * @param rsh    The handler used to create the result object from
+     *               the {@code ResultSet} of auto-generated keys.
+     * @param params The query replacement parameters.
+     * @return An object generated by the handler.
+     * @throws SQLException if a database access error occurs
+     */
+    public <T> T insert(final Connection conn, final String sql, final ResultSetHandler<T> rsh, final Object... params)
+            throws SQLException {
+        return this.insert(conn, false, sql, rsh, params);
+    }
+
     /**
      * Executes the given INSERT SQL statement.
      *
@@ -145,44 +540,199 @@ public class QueryRunner extends AbstractQueryRunner {
             throw new SQLException("SQL query cannot be null");
         }
 
+        Statement stmt = null;
         T result = null;
 
         try {
+            final long start = this.metricsTime();
+            final FlightRecorderEvents.Execute execute = new FlightRecorderEvents.Execute();
+            execute.begin();
+            final int rows;
             if (params != null && params.length > 0) {
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                this.fillStatement(stmt, params);
-                stmt.executeUpdate();
-                result = rsh.handle(stmt.getGeneratedKeys());
-                stmt.close();
+                PreparedStatement ps = this.prepareStatement(conn, sql, Statement.RETURN_GENERATED_KEYS);
+                stmt = ps;
+                this.fillStatement(sql, ps, params);
+                rows = ps.executeUpdate();
             } else {
-                Statement stmt = conn.createStatement();
-                stmt.executeUpdate(sql);
-                result = rsh.handle(stmt.getGeneratedKeys());
-                stmt.close();
+                stmt = conn.createStatement();
+                rows = stmt.executeUpdate(sql, Statement.RETURN_GENERATED_KEYS);
             }
+            execute.finish(sql, rows);
+            if (this.getMetricsListener() != MetricsListener.NONE) {
+                this.getMetricsListener().updateExecuted(sql, this.metricsTime() - start, rows);
+            }
+            result = this.handleGeneratedKeys(stmt, rsh);
         } catch (SQLException e) {
             this.rethrow(e, sql, params);
+        } finally {
+            this.invalidateQueryCache(sql);
+            this.close(stmt);
         }
 
         return result;
     }
 
     /**
-     * Executes the given batch of INSERT SQL statements.
+     * Executes the given INSERT SQL statement for every row of
+     * {@code params}, in chunks of the default size.
      *
-     * @param conn      The connection to use for the query call.
-     * @param closeConn True if the connection should be closed, false otherwise. * do not handle in this project*
+     * @param <K>       The type of the generated keys.
+     * @param conn      The connection to use for the batch.
      * @param sql       The SQL statement to execute.
-     * @param rsh       The handler used to create the result object from
-     *                  the {@code ResultSet} of auto-generated keys.
-     * @param params    The query replacement parameters.
-     * @return The result generated by the handler.
+     * @param keyMapper The mapper used to convert each generated key row, or
+     *                  {@code null} if keys are not needed.
+     * @param params    The query replacement parameters, one row per insert.
+     * @return The generated keys of all rows, in order.
      * @throws SQLException If there are database or parameter errors.
-     * @since 1.6
+     * @see #insertBatch(Connection, String, RowMapper, Object[][], BatchConfiguration)
      */
-    private <T> T insertBatch(final Connection conn, final boolean closeConn, final String sql, final ResultSetHandler<T> rsh, final Object[][] params)
+    public <K> List<K> insertBatch(final Connection conn, final String sql, final RowMapper<K> keyMapper,
+                                   final Object[][] params) throws SQLException {
+        return this.insertBatch(conn, sql, keyMapper, params, new BatchConfiguration.Builder().build());
+    }
+
+    /**
+     * Executes the given INSERT SQL statement for every row of
+     * {@code params}, sending the rows to the database in chunks bounded by
+     * {@code config}.  Only one chunk is buffered by the driver at a time.
+     * The generated keys of each chunk are read right after it is executed
+     * and accumulated across chunks.
+     *
+     * <p>
+     * If the configuration commits per chunk and the connection is not in
+     * auto-commit mode, the chunks executed before a failure stay committed.
+     * The exception message then lists the parameters of the failing chunk
+     * only.
+     * </p>
+     *
+     * @param <K>       The type of the generated keys.
+     * @param conn      The connection to use for the batch.
+     * @param sql       The SQL statement to execute.
+     * @param keyMapper The mapper used to convert each generated key row, or
+     *                  {@code null} if keys are not needed.
+     * @param params    The query replacement parameters, one row per insert.
+     * @param config    The chunking configuration.
+     * @return The generated keys of all rows, in order; empty if
+     * {@code keyMapper} is {@code null}.
+     * @throws SQLException If there are database or parameter errors.
+     */
+    public <K> List<K> insertBatch(final Connection conn, final String sql, final RowMapper<K> keyMapper,
+                                   final Object[][] params, final BatchConfiguration config)
+            throws SQLException {
+        if (params == null) {
+            throw new SQLException("Null parameters. If parameters aren't need, pass an empty array.");
+        }
+
+        return this.executeBatch(conn, sql, keyMapper, config, new BatchSource() {
+            @Override
+            public int size() {
+                return params.length;
+            }
+
+            @Override
+            public long bind(final PreparedStatement stmt, final int row) throws SQLException {
+                QueryRunner.this.fillStatement(sql, stmt, params[row]);
+                long size = 0;
+                if (params[row] != null) {
+                    for (final Object value : params[row]) {
+                        size += estimateSize(value);
+                    }
+                }
+                return size;
+            }
+
+            @Override
+            public Object[] rows(final int from, final int to) {
+                return Arrays.copyOfRange(params, from, to);
+            }
+        });
+    }
+
+    /**
+     * Executes the given INSERT SQL statement for every bean of
+     * {@code beans}, in chunks of the default size, binding the given
+     * properties as replacement parameters.
+     *
+     * @param conn          The connection to use for the batch.
+     * @param sql           The SQL statement to execute.
+     * @param beans         The beans to insert.
+     * @param propertyNames An ordered array of property names; this gives the
+     *                      order to insert values in the statement.
+     * @throws SQLException If there are database or parameter errors.
+     * @see #insertBatch(Connection, String, RowMapper, List, BatchConfiguration, String...)
+     */
+    public void insertBatch(final Connection conn, final String sql, final List<?> beans,
+                            final String... propertyNames) throws SQLException {
+        this.insertBatch(conn, sql, null, beans, new BatchConfiguration.Builder().build(), propertyNames);
+    }
+
+    /**
+     * Executes the given INSERT SQL statement for every bean of
+     * {@code beans}, binding the given properties as replacement parameters.
+     * Each bean class is bound through a binder compiled once, as in
+     * {@link #fillStatementWithBean(PreparedStatement, Object, String...)}.
+     * Chunking and key retrieval work as in
+     * {@link #insertBatch(Connection, String, RowMapper, Object[][], BatchConfiguration)}.
+     *
+     * @param <K>           The type of the generated keys.
+     * @param conn          The connection to use for the batch.
+     * @param sql           The SQL statement to execute.
+     * @param keyMapper     The mapper used to convert each generated key row,
+     *                      or {@code null} if keys are not needed.
+     * @param beans         The beans to insert.
+     * @param config        The chunking configuration.
+     * @param propertyNames An ordered array of property names; this gives the
+     *                      order to insert values in the statement.
+     * @return The generated keys of all beans, in order; empty if
+     * {@code keyMapper} is {@code null}.
+     * @throws SQLException If there are database or parameter errors.
+     */
+    public <K> List<K> insertBatch(final Connection conn, final String sql, final RowMapper<K> keyMapper,
+                                   final List<?> beans, final BatchConfiguration config,
+                                   final String... propertyNames) throws SQLException {
+        if (beans == null) {
+            throw new SQLException("Null beans. If there is nothing to insert, pass an empty list.");
+        }
+
+        if (propertyNames == null) {
+            throw new SQLException("Property names cannot be null");
+        }
+
+        return this.executeBatch(conn, sql, keyMapper, config, new BatchSource() {
+            @Override
+            public int size() {
+                return beans.size();
+            }
+
+            @Override
+            public long bind(final PreparedStatement stmt, final int row) throws SQLException {
+                return QueryRunner.this.fillStatementWithBean(sql, stmt, beans.get(row), propertyNames);
+            }
+
+            @Override
+            public Object[] rows(final int from, final int to) {
+                return beans.subList(from, to).toArray();
+            }
+        });
+    }
+
+    /**
+     * Executes a batch in the chunks bounded by {@code config}, reading the
+     * generated keys of each chunk.
+     *
+     * @param <K>       The type of the generated keys.
+     * @param conn      The connection to use for the batch.
+     * @param sql       The SQL statement to execute.
+     * @param keyMapper The mapper used to convert each generated key row, or
+     *                  {@code null} if keys are not needed.
+     * @param config    The chunking configuration.
+     * @param source    The rows to bind.
+     * @return The generated keys of all rows, in order.
+     * @throws SQLException If there are database or parameter errors.
+     */
+    private <K> List<K> executeBatch(final Connection conn, final String sql, final RowMapper<K> keyMapper,
+                                     final BatchConfiguration config, final BatchSource source)
             throws SQLException {
-        // TODO
         if (conn == null) {
             throw new SQLException("database connection is null");
         } else if (conn.isClosed()) {
@@ -193,22 +743,245 @@ public class QueryRunner extends AbstractQueryRunner {
             throw new SQLException("SQL query cannot be null");
         }
 
-        T result = null;
+        if (config == null) {
+            throw new SQLException("BatchConfiguration cannot be null");
+        }
 
-        try {
-            PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        final List<K> keys = new ArrayList<>();
+        final boolean commit = config.isCommitEachChunk() && !conn.getAutoCommit();
+        final BatchProgressListener listener = config.getProgressListener();
+        final int rows = source.size();
+        PreparedStatement stmt = null;
+        int chunkStart = 0;
+        long elapsed = 0;
+        long affected = 0;
 
-            for (Object[] param : params) {
-                this.fillStatement(stmt, param);
+        try {
+            long start = this.metricsTime();
+            stmt = keyMapper == null
+                    ? this.prepareStatement(conn, sql)
+                    : this.prepareStatement(conn, sql, Statement.RETURN_GENERATED_KEYS);
+
+            long chunkBytes = 0;
+            for (int i = 0; i < rows; i++) {
+                chunkBytes += source.bind(stmt, i);
                 stmt.addBatch();
+
+                final boolean full = i + 1 - chunkStart >= config.getChunkRows()
+                        || (config.getChunkBytes() > 0 && chunkBytes >= config.getChunkBytes());
+                if (full || i == rows - 1) {
+                    final FlightRecorderEvents.Batch batch = new FlightRecorderEvents.Batch();
+                    batch.begin();
+                    final long chunkAffected = rowsAffected(stmt.executeBatch());
+                    batch.finish(sql, i + 1 - chunkStart, chunkAffected, chunkBytes);
+                    affected += chunkAffected;
+                    elapsed += this.metricsTime() - start;
+                    if (keyMapper != null) {
+                        this.collectGeneratedKeys(stmt, keyMapper, keys);
+                    }
+                    if (commit) {
+                        conn.commit();
+                    }
+                    chunkStart = i + 1;
+                    chunkBytes = 0;
+                    if (listener != null) {
+                        listener.chunkExecuted(chunkStart, rows);
+                    }
+                    start = this.metricsTime();
+                }
+            }
+            if (this.getMetricsListener() != MetricsListener.NONE) {
+                this.getMetricsListener().updateExecuted(sql, elapsed, affected);
             }
-            stmt.executeBatch();
-            result = rsh.handle(stmt.getGeneratedKeys());
         } catch (SQLException e) {
-            this.rethrow(e, sql, params);
+            this.rethrow(e, sql, source.rows(chunkStart, Math.min(rows, chunkStart + config.getChunkRows())));
+        } finally {
+            this.invalidateQueryCache(sql);
+            this.close(stmt);
         }
 
-        return result;
+        return keys;
+    }
+
+    /**
+     * Drops the cached query results reading the tables written by
+     * {@code sql}.  Called whether or not the statement succeeded, since a
+     * failed batch may still have written rows.
+     *
+     * @param sql The statement that ran.
+     */
+    private void invalidateQueryCache(final String sql) {
+        if (this.queryCache != null) {
+            this.queryCache.invalidateTablesOf(sql);
+        }
+    }
+
+    /**
+     * @return The number of rows in the handler's result, or -1 if it isn't
+     * a collection or map.
+     */
+    private static long rowCount(final Object result) {
+        if (result == null) {
+            return 0;
+        } else if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        } else if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        }
+        return -1;
     }
-}
 
+    /**
+     * @return The sum of the update counts of a batch, counting
+     * {@code SUCCESS_NO_INFO} as one row.
+     */
+    private static long rowsAffected(final int[] counts) {
+        long rows = 0;
+        for (final int count : counts) {
+            if (count > 0) {
+                rows += count;
+            } else if (count == Statement.SUCCESS_NO_INFO) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Maps the generated keys of {@code stmt} into {@code keys} and closes
+     * them.
+     */
+    private <K> void collectGeneratedKeys(final Statement stmt, final RowMapper<K> keyMapper, final List<K> keys)
+            throws SQLException {
+        final ResultSet rs = stmt.getGeneratedKeys();
+        try {
+            while (rs.next()) {
+                keys.add(keyMapper.map(rs));
+            }
+        } finally {
+            this.close(rs);
+        }
+    }
+
+    /**
+     * Passes the generated keys of {@code stmt} to the handler and closes
+     * them.
+     */
+    private <T> T handleGeneratedKeys(final Statement stmt, final ResultSetHandler<T> rsh) throws SQLException {
+        final ResultSet keys = stmt.getGeneratedKeys();
+        try {
+            return rsh.handle(keys);
+        } finally {
+            this.close(keys);
+        }
+    }
+
+    /**
+     * Feeds the rows of an open {@code ResultSet} to a stream, closing the
+     * {@code ResultSet} and its {@code Statement} once exhausted or closed.
+     */
+    private final class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final String sql;
+
+        private final Statement stmt;
+
+        private final ResultSet rs;
+
+        private final RowMapper<T> mapper;
+
+        private final long executeNanos;
+
+        /**
+         * The time spent fetching and mapping so far, excluding the time
+         * the stream's consumer spent on each row.
+         */
+        private long fetchNanos;
+
+        private long rows;
+
+        private boolean closed;
+
+        RowSpliterator(final String sql, final Statement stmt, final ResultSet rs, final RowMapper<T> mapper,
+                       final long executeNanos) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.sql = sql;
+            this.stmt = stmt;
+            this.rs = rs;
+            this.mapper = mapper;
+            this.executeNanos = executeNanos;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            if (this.closed) {
+                return false;
+            }
+            final T row;
+            final long start = QueryRunner.this.metricsTime();
+            try {
+                if (!this.rs.next()) {
+                    this.fetchNanos += QueryRunner.this.metricsTime() - start;
+                    this.close();
+                    return false;
+                }
+                row = this.mapper.map(this.rs);
+            } catch (SQLException e) {
+                this.close();
+                throw new RuntimeException(e);
+            }
+            this.fetchNanos += QueryRunner.this.metricsTime() - start;
+            this.rows++;
+            action.accept(row);
+            return true;
+        }
+
+        void close() {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            if (QueryRunner.this.getMetricsListener() != MetricsListener.NONE) {
+                QueryRunner.this.getMetricsListener().queryExecuted(this.sql, this.executeNanos, this.fetchNanos,
+                        this.rows);
+            }
+            try {
+                try {
+                    QueryRunner.this.close(this.rs);
+                } finally {
+                    QueryRunner.this.close(this.stmt);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * The rows of a batch, bound one at a time.
+     */
+    private interface BatchSource {
+
+        /**
+         * @return The number of rows.
+         */
+        int size();
+
+        /**
+         * Binds one row to the statement parameters.
+         *
+         * @param stmt The statement to fill.
+         * @param row The row index.
+         * @return The estimated size of the bound values in bytes.
+         * @throws SQLException if a database access error occurs
+         */
+        long bind(PreparedStatement stmt, int row) throws SQLException;
+
+        /**
+         * @param from The first row, inclusive.
+         * @param to The last row, exclusive.
+         * @return The given rows, for error messages.
+         */
+        Object[] rows(int from, int to);
+    }
+}
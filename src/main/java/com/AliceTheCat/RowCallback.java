@@ -0,0 +1,23 @@
+package com.AliceTheCat;
+
+import java.sql.SQLException;
+
+/**
+ * Receives the rows of a query run by
+ * {@link QueryRunner#forEachRow(java.sql.Connection, String, RowCallback, Object...)}
+ * one at a time.
+ */
+@FunctionalInterface
+public interface RowCallback {
+
+    /**
+     * Process the current row.
+     *
+     * @param row The current row.  The same instance is passed for every row
+     * and is only valid during this call; copy any value to be kept.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    void row(RowView row) throws SQLException;
+
+}
@@ -0,0 +1,165 @@
+package com.AliceTheCat;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A read-only, case insensitive {@code Map} view of one row.  The row only
+ * holds its column values; the column names and their lookup table live in
+ * a {@link Columns} instance shared by all the rows of a result, so a row
+ * costs little more than its {@code Object[]}.
+ *
+ * <p>
+ * Iteration follows the column order of the {@code ResultSet}.  When
+ * several columns share a name, the map holds the value of the last one,
+ * as a {@code Map} filled column by column would.
+ * </p>
+ */
+final class RowMap extends AbstractMap<String, Object> {
+
+    private final Columns columns;
+
+    private final Object[] values;
+
+    RowMap(final Columns columns, final Object[] values) {
+        this.columns = columns;
+        this.values = values;
+    }
+
+    @Override
+    public int size() {
+        return this.columns.names.length;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.columns.indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final int index = this.columns.indexOf(key);
+        return index < 0 ? null : this.values[index];
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<Entry<String, Object>>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.next < RowMap.this.columns.names.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!this.hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        final int i = this.next++;
+                        return new SimpleImmutableEntry<>(RowMap.this.columns.names[i],
+                                RowMap.this.values[RowMap.this.columns.positions[i]]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return RowMap.this.columns.names.length;
+            }
+        };
+    }
+
+    /**
+     * The column names of a result and their case insensitive index into
+     * the row values.  This class is immutable and thus thread safe.
+     */
+    static final class Columns {
+
+        /**
+         * The distinct column names, in column order.
+         */
+        private final String[] names;
+
+        /**
+         * The position in the row values of each name.
+         */
+        private final int[] positions;
+
+        /**
+         * Position by name as returned by the driver, tried first so that
+         * most lookups don't need to lower-case the key.
+         */
+        private final Map<String, Integer> exact = new HashMap<>();
+
+        /**
+         * Position by lower-cased name.
+         */
+        private final Map<String, Integer> lowerCase = new HashMap<>();
+
+        /**
+         * Builds the index of the columns described by {@code rsmd}.
+         *
+         * @param rsmd The meta-data of the result.
+         * @throws SQLException if a database access error occurs
+         */
+        Columns(final ResultSetMetaData rsmd) throws SQLException {
+            final int cols = rsmd.getColumnCount();
+            final String[] names = new String[cols];
+            final int[] positions = new int[cols];
+            int distinct = 0;
+            for (int i = 1; i <= cols; i++) {
+                String name = rsmd.getColumnLabel(i);
+                if (name == null || name.isEmpty()) {
+                    name = rsmd.getColumnName(i);
+                }
+                final String key = name.toLowerCase(Locale.ENGLISH);
+                final Integer seen = this.lowerCase.get(key);
+                if (seen == null) {
+                    this.lowerCase.put(key, distinct);
+                    names[distinct] = name;
+                    positions[distinct] = i - 1;
+                    distinct++;
+                } else {
+                    positions[seen] = i - 1;
+                }
+            }
+            this.names = Arrays.copyOf(names, distinct);
+            this.positions = Arrays.copyOf(positions, distinct);
+            for (int i = 0; i < this.names.length; i++) {
+                this.exact.put(this.names[i], i);
+            }
+        }
+
+        /**
+         * @param key The column name, in any case.
+         * @return The position of the column in the row values, or -1.
+         */
+        int indexOf(final Object key) {
+            if (!(key instanceof String)) {
+                return -1;
+            }
+            Integer index = this.exact.get(key);
+            if (index == null) {
+                index = this.lowerCase.get(((String) key).toLowerCase(Locale.ENGLISH));
+                if (index == null) {
+                    return -1;
+                }
+            }
+            return this.positions[index];
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.AliceTheCat;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Implementations of this interface convert one {@code ResultSet} row into
+ * an object.  Unlike a {@link ResultSetHandler} it never moves the cursor,
+ * which lets rows be mapped one at a time as they are fetched.
+ *
+ * @param <T> the target type each row will be converted to.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Turn the current row of the {@code ResultSet} into an Object.
+     *
+     * @param rs The {@code ResultSet} to read, positioned on a valid row.
+     * Implementations must not alter the row position.
+     *
+     * @return An Object initialized with the row data.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    T map(ResultSet rs) throws SQLException;
+
+}
@@ -1,7 +1,9 @@
 package com.AliceTheCat;
 
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -54,6 +56,23 @@ public interface RowProcessor {
      */
     <T> List<T> toBeanList(ResultSet rs, Class<? extends T> type) throws SQLException;
 
+    /**
+     * Returns a {@code RowMapper} that creates JavaBeans from the rows of a
+     * {@code ResultSet} with the given columns, for handlers that convert
+     * rows one at a time.  Implementations can match the columns to the
+     * bean properties once here instead of for every row.  This default
+     * implementation calls {@link #toBean(ResultSet, Class)} for each row.
+     * @param <T> The type of bean to create
+     * @param rsmd The meta-data of the {@code ResultSet} the mapper is used on
+     * @param type Class from which to create the bean instances
+     * @throws SQLException if a database access error occurs
+     * @return the mapper
+     */
+    default <T> RowMapper<T> beanMapper(final ResultSetMetaData rsmd, final Class<? extends T> type)
+            throws SQLException {
+        return rs -> this.toBean(rs, type);
+    }
+
     /**
      * Create a {@code Map} from the column values in one
      * {@code ResultSet} row.  The {@code ResultSet} should be
@@ -67,5 +86,25 @@ public interface RowProcessor {
      */
     Map<String, Object> toMap(ResultSet rs) throws SQLException;
 
+    /**
+     * Create a {@code List} of {@code Map}s from the column values in all
+     * {@code ResultSet} rows.  {@code ResultSet.next()} should
+     * <strong>not</strong> be called before passing it to this method.
+     * This default implementation calls {@link #toMap(ResultSet)} for each
+     * row.
+     *
+     * @param rs ResultSet that supplies the map data
+     * @throws SQLException if a database access error occurs
+     * @return A {@code List} of maps in the order they were returned by the
+     * {@code ResultSet}.
+     */
+    default List<Map<String, Object>> toMapList(final ResultSet rs) throws SQLException {
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        while (rs.next()) {
+            rows.add(this.toMap(rs));
+        }
+        return rows;
+    }
+
 }
 
@@ -0,0 +1,223 @@
+package com.AliceTheCat;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * A cursor-style view of the current row of a {@code ResultSet}, passed to
+ * a {@link RowCallback}.  One instance serves every row of a query, and the
+ * typed getters read straight from the {@code ResultSet}, so the library
+ * allocates nothing per row.
+ *
+ * <p>
+ * Columns are numbered from 1.  Resolve names once with
+ * {@link #findColumn(String)} and use the indexes in the per-row code.
+ * </p>
+ *
+ * <p>
+ * This class is not thread safe and must not be used after the callback
+ * returns.
+ * </p>
+ */
+public final class RowView {
+
+    /**
+     * How {@link #isNull(int)} reads a column that hasn't just been read.
+     */
+    private static final byte PROBE_LONG = 0;
+
+    private static final byte PROBE_DOUBLE = 1;
+
+    private static final byte PROBE_BOOLEAN = 2;
+
+    private static final byte PROBE_OBJECT = 3;
+
+    private final ResultSet rs;
+
+    private final int columnCount;
+
+    private final byte[] probes;
+
+    private final RowMap.Columns columns;
+
+    /**
+     * The column read last on the current row, 0 if none.
+     */
+    private int lastRead;
+
+    private long rowNumber;
+
+    RowView(final ResultSet rs) throws SQLException {
+        final ResultSetMetaData rsmd = rs.getMetaData();
+        this.rs = rs;
+        this.columnCount = rsmd.getColumnCount();
+        this.columns = new RowMap.Columns(rsmd);
+        this.probes = new byte[this.columnCount + 1];
+        for (int i = 1; i <= this.columnCount; i++) {
+            this.probes[i] = probe(rsmd.getColumnType(i));
+        }
+    }
+
+    private static byte probe(final int sqlType) {
+        switch (sqlType) {
+            case Types.BIGINT:
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+                return PROBE_LONG;
+            case Types.DOUBLE:
+            case Types.FLOAT:
+            case Types.REAL:
+                return PROBE_DOUBLE;
+            case Types.BOOLEAN:
+            case Types.BIT:
+                return PROBE_BOOLEAN;
+            default:
+                return PROBE_OBJECT;
+        }
+    }
+
+    /**
+     * Moves the view to the next row.
+     */
+    void advance() {
+        this.lastRead = 0;
+        this.rowNumber++;
+    }
+
+    /**
+     * @return The number of columns.
+     */
+    public int getColumnCount() {
+        return this.columnCount;
+    }
+
+    /**
+     * @return The number of the current row, starting at 1.
+     */
+    public long getRowNumber() {
+        return this.rowNumber;
+    }
+
+    /**
+     * Maps the given column name to its index.  The comparison is case
+     * insensitive.
+     *
+     * @param name The column label or name.
+     * @return The column index.
+     * @throws SQLException if there is no such column.
+     */
+    public int findColumn(final String name) throws SQLException {
+        final int index = this.columns.indexOf(name);
+        if (index < 0) {
+            throw new SQLException("Column not found: " + name);
+        }
+        return index + 1;
+    }
+
+    /**
+     * @param column The column index.
+     * @return true if the value of the column is SQL NULL.
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean isNull(final int column) throws SQLException {
+        if (column != this.lastRead) {
+            switch (this.probes[this.checkColumn(column)]) {
+                case PROBE_LONG:
+                    this.rs.getLong(column);
+                    break;
+                case PROBE_DOUBLE:
+                    this.rs.getDouble(column);
+                    break;
+                case PROBE_BOOLEAN:
+                    this.rs.getBoolean(column);
+                    break;
+                default:
+                    this.rs.getObject(column);
+                    break;
+            }
+            this.lastRead = column;
+        }
+        return this.rs.wasNull();
+    }
+
+    /**
+     * @param column The column index.
+     * @return The value, or 0 if SQL NULL.
+     * @throws SQLException if a database access error occurs
+     */
+    public int getInt(final int column) throws SQLException {
+        this.lastRead = column;
+        return this.rs.getInt(column);
+    }
+
+    /**
+     * @param column The column index.
+     * @return The value, or 0 if SQL NULL.
+     * @throws SQLException if a database access error occurs
+     */
+    public long getLong(final int column) throws SQLException {
+        this.lastRead = column;
+        return this.rs.getLong(column);
+    }
+
+    /**
+     * @param column The column index.
+     * @return The value, or 0 if SQL NULL.
+     * @throws SQLException if a database access error occurs
+     */
+    public double getDouble(final int column) throws SQLException {
+        this.lastRead = column;
+        return this.rs.getDouble(column);
+    }
+
+    /**
+     * @param column The column index.
+     * @return The value, or false if SQL NULL.
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean getBoolean(final int column) throws SQLException {
+        this.lastRead = column;
+        return this.rs.getBoolean(column);
+    }
+
+    /**
+     * @param column The column index.
+     * @return The value, or {@code null} if SQL NULL.
+     * @throws SQLException if a database access error occurs
+     */
+    public String getString(final int column) throws SQLException {
+        this.lastRead = column;
+        return this.rs.getString(column);
+    }
+
+    /**
+     * @param column The column index.
+     * @return The value, or {@code null} if SQL NULL.
+     * @throws SQLException if a database access error occurs
+     */
+    public BigDecimal getBigDecimal(final int column) throws SQLException {
+        this.lastRead = column;
+        return this.rs.getBigDecimal(column);
+    }
+
+    /**
+     * @param column The column index.
+     * @return The value, or {@code null} if SQL NULL.
+     * @throws SQLException if a database access error occurs
+     */
+    public Object getObject(final int column) throws SQLException {
+        this.lastRead = column;
+        return this.rs.getObject(column);
+    }
+
+    private int checkColumn(final int column) throws SQLException {
+        if (column < 1 || column > this.columnCount) {
+            throw new SQLException("Column index out of range: " + column);
+        }
+        return column;
+    }
+}
@@ -0,0 +1,365 @@
+package com.AliceTheCat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, per-connection cache of {@code PreparedStatement}s for
+ * {@link QueryRunner}.  Statements are keyed by their SQL and by the options
+ * they were prepared with (generated keys, result set type and
+ * concurrency), so a hot query is only parsed once per connection on
+ * drivers that don't cache statements themselves.
+ *
+ * <p>
+ * A statement is taken out of the cache while it is in use and put back
+ * when the runner closes it, so concurrent or nested use of the same SQL
+ * never shares a statement.  Each connection keeps at most
+ * {@code maxStatementsPerConnection} idle statements; the least recently
+ * used one is closed when the limit is exceeded.
+ * </p>
+ *
+ * <p>
+ * Connections are held strongly, since the cached statements reference
+ * them anyway.  They are only forgotten through {@link #close(Connection)},
+ * which must be called before handing a connection back to a pool that
+ * doesn't close statements itself, or once found closed: every cache miss
+ * drops the statements of the connections that have been closed.
+ * </p>
+ *
+ * <p>
+ * Each connection has its own lock, held only to update its idle
+ * statements; driver calls are made outside of it.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public class StatementCache {
+
+    private final int maxStatementsPerConnection;
+
+    /**
+     * The idle statements of each connection.
+     */
+    private final ConcurrentMap<Connection, ConnectionStatements> connections = new ConcurrentHashMap<>();
+
+    /**
+     * The connection and key of every statement currently handed out by
+     * this cache, by statement identity.
+     */
+    private final ConcurrentMap<Identity, Checkout> inUse = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor for StatementCache.
+     *
+     * @param maxStatementsPerConnection The maximum number of idle statements
+     * kept for each connection.
+     */
+    public StatementCache(final int maxStatementsPerConnection) {
+        if (maxStatementsPerConnection <= 0) {
+            throw new IllegalArgumentException("maxStatementsPerConnection must be positive");
+        }
+        this.maxStatementsPerConnection = maxStatementsPerConnection;
+    }
+
+    /**
+     * Returns a cached statement for the given SQL and options, or prepares
+     * a new one.  The statement must be handed back through
+     * {@link #release(PreparedStatement)}.
+     *
+     * @param conn The connection to prepare the statement on.
+     * @param sql The SQL statement.
+     * @param autoGeneratedKeys {@code Statement.RETURN_GENERATED_KEYS} or
+     * {@code Statement.NO_GENERATED_KEYS}.
+     * @param resultSetType The result set type.
+     * @param resultSetConcurrency The result set concurrency.
+     * @return A statement ready to be filled.
+     * @throws SQLException if a database access error occurs
+     */
+    PreparedStatement prepare(final Connection conn, final String sql, final int autoGeneratedKeys,
+                              final int resultSetType, final int resultSetConcurrency) throws SQLException {
+        final Key key = new Key(sql, autoGeneratedKeys, resultSetType, resultSetConcurrency);
+
+        final ConnectionStatements statements = this.connections.get(conn);
+        final PreparedStatement cached = statements == null ? null : statements.take(key);
+        if (cached != null) {
+            this.inUse.put(new Identity(cached), new Checkout(conn, key));
+            this.hits.increment();
+            return cached;
+        }
+        this.misses.increment();
+        this.purgeClosedConnections();
+
+        final PreparedStatement stmt = AbstractQueryRunner.newStatement(conn, sql,
+                autoGeneratedKeys, resultSetType, resultSetConcurrency);
+        this.inUse.put(new Identity(stmt), new Checkout(conn, key));
+        return stmt;
+    }
+
+    /**
+     * Puts a statement obtained from {@link #prepare} back into the cache,
+     * with its parameters and batch cleared.  A statement that can't be
+     * cleared is closed instead.
+     *
+     * @param stmt The statement to release.
+     * @return false if the statement doesn't belong to this cache, in which
+     * case the caller should close it.
+     * @throws SQLException if a database access error occurs
+     */
+    boolean release(final PreparedStatement stmt) throws SQLException {
+        final Checkout checkout = this.inUse.remove(new Identity(stmt));
+        if (checkout == null) {
+            return false;
+        }
+        if (stmt.isClosed() || checkout.conn.isClosed()) {
+            return true;
+        }
+        try {
+            // a batch that failed half way may still hold rows
+            stmt.clearBatch();
+            stmt.clearParameters();
+        } catch (SQLException e) {
+            stmt.close();
+            return true;
+        }
+
+        final ConnectionStatements statements =
+                this.connections.computeIfAbsent(checkout.conn, c -> new ConnectionStatements());
+        final PreparedStatement evicted = statements.put(checkout.key, stmt, this.maxStatementsPerConnection);
+        if (evicted != null) {
+            if (evicted != stmt) {
+                this.evictions.increment();
+            }
+            evicted.close();
+        }
+        return true;
+    }
+
+    /**
+     * Closes and forgets all the idle statements cached for a connection.
+     *
+     * @param conn The connection.
+     * @throws SQLException if a statement cannot be closed
+     */
+    public void close(final Connection conn) throws SQLException {
+        final ConnectionStatements statements = this.connections.remove(conn);
+        if (statements == null) {
+            return;
+        }
+        SQLException failure = null;
+        for (final PreparedStatement stmt : statements.clear()) {
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Drops the statements of connections that have been closed; their
+     * statements were closed along with them.
+     */
+    private void purgeClosedConnections() {
+        for (final Connection conn : this.connections.keySet()) {
+            boolean closed;
+            try {
+                closed = conn.isClosed();
+            } catch (SQLException e) {
+                closed = true;
+            }
+            if (closed) {
+                final ConnectionStatements statements = this.connections.remove(conn);
+                if (statements != null) {
+                    statements.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of statements served from the cache.
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return The number of statements that had to be prepared.
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return The number of idle statements closed to respect the size limit.
+     */
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * @return The number of idle statements currently cached, over all
+     * connections.
+     */
+    public int size() {
+        int size = 0;
+        for (final ConnectionStatements statements : this.connections.values()) {
+            size += statements.size();
+        }
+        return size;
+    }
+
+    /**
+     * Cache key within a connection: the SQL and the statement options.
+     */
+    private static final class Key {
+
+        private final String sql;
+
+        private final int autoGeneratedKeys;
+
+        private final int resultSetType;
+
+        private final int resultSetConcurrency;
+
+        Key(final String sql, final int autoGeneratedKeys, final int resultSetType, final int resultSetConcurrency) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+            this.resultSetType = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return this.sql.equals(other.sql)
+                    && this.autoGeneratedKeys == other.autoGeneratedKeys
+                    && this.resultSetType == other.resultSetType
+                    && this.resultSetConcurrency == other.resultSetConcurrency;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.sql, this.autoGeneratedKeys, this.resultSetType, this.resultSetConcurrency);
+        }
+    }
+
+    /**
+     * The idle statements of one connection, in least recently used first
+     * order, guarded by the instance lock.
+     */
+    private static final class ConnectionStatements {
+
+        private final LinkedHashMap<Key, PreparedStatement> statements = new LinkedHashMap<>();
+
+        /**
+         * Set once the connection is removed from the cache, after which
+         * released statements are closed rather than kept.
+         */
+        private boolean closed;
+
+        synchronized PreparedStatement take(final Key key) {
+            return this.statements.remove(key);
+        }
+
+        /**
+         * Adds an idle statement.
+         *
+         * @return The statement to close: the least recently used one if
+         * the limit is exceeded, {@code stmt} itself if the same SQL is
+         * already idle or the connection was removed, or {@code null}.
+         */
+        synchronized PreparedStatement put(final Key key, final PreparedStatement stmt, final int max) {
+            if (this.closed || this.statements.containsKey(key)) {
+                // the same SQL was in use twice; keep the idle one
+                return stmt;
+            }
+            this.statements.put(key, stmt);
+            if (this.statements.size() > max) {
+                final Iterator<PreparedStatement> eldest = this.statements.values().iterator();
+                final PreparedStatement evicted = eldest.next();
+                eldest.remove();
+                return evicted;
+            }
+            return null;
+        }
+
+        /**
+         * @return The idle statements, which are forgotten.
+         */
+        synchronized List<PreparedStatement> clear() {
+            this.closed = true;
+            final List<PreparedStatement> idle = new ArrayList<>(this.statements.values());
+            this.statements.clear();
+            return idle;
+        }
+
+        synchronized int size() {
+            return this.statements.size();
+        }
+    }
+
+    /**
+     * Compares statements by identity, whatever their {@code equals}.
+     */
+    private static final class Identity {
+
+        private final PreparedStatement stmt;
+
+        Identity(final PreparedStatement stmt) {
+            this.stmt = stmt;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Identity && ((Identity) o).stmt == this.stmt;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.stmt);
+        }
+    }
+
+    /**
+     * A statement handed out by the cache.
+     */
+    private static final class Checkout {
+
+        private final Connection conn;
+
+        private final Key key;
+
+        Checkout(final Connection conn, final Key key) {
+            this.conn = conn;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.AliceTheCat;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Configures {@link BeanProcessor} to return one {@code String} instance
+ * per distinct value of low-cardinality columns, such as status or country
+ * codes, instead of the new instance the driver creates for every row.
+ * Columns are either listed by label, or chosen automatically with
+ * {@link Builder#sampled(boolean)}: every {@code String} column is then
+ * deduplicated while its first {@value #SAMPLE_SIZE} values show that at
+ * least half of them repeat, and left alone otherwise.
+ *
+ * <pre>
+ * StringDeduplication strings = new StringDeduplication.Builder().columns("status", "country").build();
+ * BeanProcessor convert = new BeanProcessor(new HashMap&lt;&gt;(), Collections.emptyList(),
+ *         Collections.emptyList(), false, strings);
+ * </pre>
+ *
+ * <p>
+ * The canonical instances are kept in a fixed-size table per column that
+ * is created for each result converted by {@code BeanProcessor.toBeanList}
+ * or {@code BeanProcessor.beanMapper} and dropped with it, so nothing is
+ * retained between queries.  A value replaces the one in its slot on a
+ * miss; the table is only touched by the thread reading the result and
+ * needs no locking.  Values longer
+ * than {@link Builder#maxLength(int)} are not deduplicated.  Bean
+ * properties, fields and constructor arguments are all deduplicated.
+ * </p>
+ *
+ * <p>
+ * This class is immutable and thread-safe.
+ * </p>
+ */
+public final class StringDeduplication {
+
+    /**
+     * The number of values after which a sampled column is kept or dropped.
+     */
+    public static final int SAMPLE_SIZE = 1024;
+
+    /**
+     * The number of values kept per column if not supplied to the builder.
+     */
+    public static final int DEFAULT_TABLE_SIZE = 256;
+
+    /**
+     * The maximum length of a deduplicated value if not supplied to the
+     * builder.
+     */
+    public static final int DEFAULT_MAX_LENGTH = 64;
+
+    private final Set<String> columns;
+
+    private final boolean sampled;
+
+    private final int tableSize;
+
+    private final int maxLength;
+
+    private StringDeduplication(final Builder builder) {
+        this.columns = new TreeSet<>(builder.columns);
+        this.sampled = builder.sampled;
+        this.tableSize = builder.tableSize;
+        this.maxLength = builder.maxLength;
+    }
+
+    /**
+     * @param label A column label.
+     * @return Whether the {@code String} values of the column are
+     * deduplicated, possibly after sampling.
+     */
+    boolean applies(final String label) {
+        return this.sampled || this.isListed(label);
+    }
+
+    private boolean isListed(final String label) {
+        return this.columns.contains(label.toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Creates the table of one column for one query.
+     *
+     * @param label The column label.
+     * @return A new, empty table.
+     */
+    Table newTable(final String label) {
+        return new Table(this.tableSize, this.maxLength, !this.isListed(label));
+    }
+
+    /**
+     * The canonical values of one column during one query.  Values are
+     * stored at the slot given by their hash, like a direct-mapped cache.
+     * Not thread-safe: a table is confined to the thread reading the
+     * result.
+     */
+    static final class Table {
+
+        private String[] values;
+
+        private final int mask;
+
+        private final int maxLength;
+
+        /**
+         * The number of values left to sample, or 0 once decided.
+         */
+        private int samples;
+
+        private int hits;
+
+        Table(final int size, final int maxLength, final boolean sampled) {
+            this.values = new String[size];
+            this.mask = size - 1;
+            this.maxLength = maxLength;
+            this.samples = sampled ? SAMPLE_SIZE : 0;
+        }
+
+        /**
+         * @param value A column value.
+         * @return The instance equal to {@code value} returned earlier, or
+         * {@code value}.
+         */
+        String canonical(final String value) {
+            final String[] values = this.values;
+            if (value == null || values == null || value.length() > this.maxLength) {
+                return value;
+            }
+            final int h = value.hashCode();
+            final int slot = (h ^ (h >>> 16)) & this.mask;
+            final String cached = values[slot];
+            final boolean hit = value.equals(cached);
+            if (!hit) {
+                values[slot] = value;
+            }
+            if (this.samples > 0) {
+                if (hit) {
+                    this.hits++;
+                }
+                if (--this.samples == 0 && this.hits < SAMPLE_SIZE / 2) {
+                    // Mostly distinct values: stop paying for the lookups
+                    this.values = null;
+                }
+            }
+            return hit ? cached : value;
+        }
+    }
+
+    /**
+     * Builder class for {@code StringDeduplication} for more flexible
+     * construction.
+     */
+    public static final class Builder {
+
+        private final Set<String> columns = new TreeSet<>();
+
+        private boolean sampled;
+
+        private int tableSize = DEFAULT_TABLE_SIZE;
+
+        private int maxLength = DEFAULT_MAX_LENGTH;
+
+        /**
+         * @param columns The labels of the columns to deduplicate, compared
+         *                ignoring case.
+         * @return This builder for chaining.
+         */
+        public Builder columns(final String... columns) {
+            for (final String column : columns) {
+                if (column == null || column.isEmpty()) {
+                    throw new IllegalArgumentException("column label cannot be empty");
+                }
+                this.columns.add(column.toLowerCase(Locale.ENGLISH));
+            }
+            return this;
+        }
+
+        /**
+         * @param sampled Whether the {@code String} columns not listed in
+         *                {@link #columns(String...)} are deduplicated when
+         *                sampling shows that their values repeat.
+         * @return This builder for chaining.
+         */
+        public Builder sampled(final boolean sampled) {
+            this.sampled = sampled;
+            return this;
+        }
+
+        /**
+         * @param tableSize The number of values kept per column, a power of
+         *                  two.  More distinct values than this still work
+         *                  but evict each other.
+         * @return This builder for chaining.
+         */
+        public Builder tableSize(final int tableSize) {
+            if (tableSize <= 0 || Integer.bitCount(tableSize) != 1) {
+                throw new IllegalArgumentException("tableSize must be a positive power of two");
+            }
+            this.tableSize = tableSize;
+            return this;
+        }
+
+        /**
+         * @param maxLength The length above which values are not
+         *                  deduplicated.
+         * @return This builder for chaining.
+         */
+        public Builder maxLength(final int maxLength) {
+            if (maxLength < 0) {
+                throw new IllegalArgumentException("maxLength cannot be negative");
+            }
+            this.maxLength = maxLength;
+            return this;
+        }
+
+        /**
+         * @return A new and configured {@link StringDeduplication}.
+         */
+        public StringDeduplication build() {
+            return new StringDeduplication(this);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.AliceTheCat.handlers;
+
+import com.AliceTheCat.ResultSetHandler;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * {@code ResultSetHandler} implementation that converts a
+ * {@code ResultSet} into a {@link ColumnarResult}, storing each column in
+ * one array instead of creating an object per row.  Numeric and boolean
+ * columns are read with the primitive getters into {@code int[]},
+ * {@code long[]}, {@code double[]} and {@code boolean[]}; character
+ * columns are dictionary-encoded.  The arrays double in size as rows are
+ * read and are trimmed at the end.  This class is thread safe.
+ *
+ * @see ColumnarResult
+ */
+public class ColumnarHandler implements ResultSetHandler<ColumnarResult> {
+
+    /**
+     * The number of rows allocated up front if not supplied in the
+     * constructor.
+     */
+    private static final int DEFAULT_INITIAL_ROWS = 64;
+
+    /**
+     * The number of rows allocated up front.
+     */
+    private final int initialRows;
+
+    /**
+     * Creates a new instance of ColumnarHandler.
+     */
+    public ColumnarHandler() {
+        this(DEFAULT_INITIAL_ROWS);
+    }
+
+    /**
+     * Creates a new instance of ColumnarHandler.
+     *
+     * @param expectedRows The expected number of rows, used to size the
+     * arrays up front.
+     */
+    public ColumnarHandler(final int expectedRows) {
+        if (expectedRows < 0) {
+            throw new IllegalArgumentException("expectedRows cannot be negative");
+        }
+        this.initialRows = Math.max(expectedRows, 1);
+    }
+
+    /**
+     * Reads the whole {@code ResultSet} column by column.
+     *
+     * @param rs The {@code ResultSet} to handle.
+     *
+     * @return The columns, never {@code null}.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public ColumnarResult handle(final ResultSet rs) throws SQLException {
+        final ResultSetMetaData rsmd = rs.getMetaData();
+        final ColumnarResult.Column[] columns = new ColumnarResult.Column[rsmd.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = this.newColumn(rsmd, i + 1);
+        }
+
+        int capacity = 0;
+        int rows = 0;
+        while (rs.next()) {
+            if (rows == capacity) {
+                capacity = capacity == 0 ? this.initialRows : grow(capacity);
+                for (final ColumnarResult.Column column : columns) {
+                    column.resize(capacity);
+                }
+            }
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].append(rs, i + 1);
+            }
+            rows++;
+        }
+
+        for (final ColumnarResult.Column column : columns) {
+            if (rows != capacity) {
+                column.resize(rows);
+            }
+            column.finish();
+        }
+        return new ColumnarResult(columns, rows);
+    }
+
+    /**
+     * Chooses the storage for a column from its SQL type.  Override to
+     * store a column differently, e.g. a {@code NUMERIC} column known to hold
+     * integers.
+     *
+     * @param rsmd The meta-data of the result.
+     * @param column The column index, starting at 1.
+     * @return The empty column.
+     * @throws SQLException if a database access error occurs
+     */
+    protected ColumnarResult.Column newColumn(final ResultSetMetaData rsmd, final int column)
+            throws SQLException {
+        String label = rsmd.getColumnLabel(column);
+        if (label == null || label.isEmpty()) {
+            label = rsmd.getColumnName(column);
+        }
+        final int sqlType = rsmd.getColumnType(column);
+        switch (sqlType) {
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+                return new ColumnarResult.IntColumn(label, sqlType);
+            case Types.BIGINT:
+                return new ColumnarResult.LongColumn(label, sqlType);
+            case Types.DOUBLE:
+            case Types.FLOAT:
+            case Types.REAL:
+                return new ColumnarResult.DoubleColumn(label, sqlType);
+            case Types.BOOLEAN:
+            case Types.BIT:
+                return new ColumnarResult.BooleanColumn(label, sqlType);
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                return new ColumnarResult.StringColumn(label, sqlType);
+            default:
+                return new ColumnarResult.ObjectColumn(label, sqlType);
+        }
+    }
+
+    /**
+     * Doubles the capacity, stopping at the largest array size.
+     */
+    private static int grow(final int capacity) {
+        final int max = Integer.MAX_VALUE - 8;
+        if (capacity >= max) {
+            throw new OutOfMemoryError("Too many rows for a columnar result");
+        }
+        return capacity > max / 2 ? max : capacity << 1;
+    }
+}
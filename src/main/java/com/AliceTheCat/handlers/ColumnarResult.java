@@ -0,0 +1,544 @@
+package com.AliceTheCat.handlers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A {@code ResultSet} stored column by column, as built by
+ * {@link ColumnarHandler}.  Numeric and boolean columns are kept in
+ * primitive arrays with a bitmap marking SQL NULLs, character columns are
+ * dictionary-encoded, and any other column falls back to an
+ * {@code Object[]}.
+ *
+ * <p>
+ * Columns are numbered from 1, as in JDBC; rows are numbered from 0, as in
+ * the arrays.  The arrays returned by the columns are the backing arrays,
+ * trimmed to the row count; they are not copied and must not be modified.
+ * This class is immutable once built and thus thread safe.
+ * </p>
+ *
+ * @see ColumnarHandler
+ */
+public final class ColumnarResult {
+
+    private final Column[] columns;
+
+    private final int rowCount;
+
+    /**
+     * Column index by lower-cased label, as in {@code findColumn}.
+     */
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+
+    ColumnarResult(final Column[] columns, final int rowCount) {
+        this.columns = columns;
+        this.rowCount = rowCount;
+        for (int i = columns.length - 1; i >= 0; i--) {
+            // the first column wins when labels repeat
+            this.columnIndex.put(columns[i].label.toLowerCase(Locale.ENGLISH), i + 1);
+        }
+    }
+
+    /**
+     * @return The number of rows.
+     */
+    public int getRowCount() {
+        return this.rowCount;
+    }
+
+    /**
+     * @return The number of columns.
+     */
+    public int getColumnCount() {
+        return this.columns.length;
+    }
+
+    /**
+     * Maps the given column label to its column index.  The comparison is
+     * case insensitive.
+     *
+     * @param label The column label.
+     * @return The column index, starting at 1.
+     * @throws IllegalArgumentException if there is no such column.
+     */
+    public int findColumn(final String label) {
+        final Integer index = label == null ? null : this.columnIndex.get(label.toLowerCase(Locale.ENGLISH));
+        if (index == null) {
+            throw new IllegalArgumentException("Column not found: " + label);
+        }
+        return index;
+    }
+
+    /**
+     * @param column The column index, starting at 1.
+     * @return The column.
+     */
+    public Column getColumn(final int column) {
+        if (column < 1 || column > this.columns.length) {
+            throw new IndexOutOfBoundsException("Column index out of range: " + column);
+        }
+        return this.columns[column - 1];
+    }
+
+    /**
+     * @param label The column label, compared case insensitively.
+     * @return The column.
+     */
+    public Column getColumn(final String label) {
+        return this.getColumn(this.findColumn(label));
+    }
+
+    /**
+     * @param label The column label.
+     * @return The column, which must hold {@code INTEGER}, {@code SMALLINT}
+     * or {@code TINYINT} values.
+     */
+    public IntColumn getIntColumn(final String label) {
+        return this.typed(label, IntColumn.class);
+    }
+
+    /**
+     * @param label The column label.
+     * @return The column, which must hold {@code BIGINT} values.
+     */
+    public LongColumn getLongColumn(final String label) {
+        return this.typed(label, LongColumn.class);
+    }
+
+    /**
+     * @param label The column label.
+     * @return The column, which must hold {@code DOUBLE}, {@code FLOAT} or
+     * {@code REAL} values.
+     */
+    public DoubleColumn getDoubleColumn(final String label) {
+        return this.typed(label, DoubleColumn.class);
+    }
+
+    /**
+     * @param label The column label.
+     * @return The column, which must hold {@code BOOLEAN} or {@code BIT}
+     * values.
+     */
+    public BooleanColumn getBooleanColumn(final String label) {
+        return this.typed(label, BooleanColumn.class);
+    }
+
+    /**
+     * @param label The column label.
+     * @return The column, which must hold character values.
+     */
+    public StringColumn getStringColumn(final String label) {
+        return this.typed(label, StringColumn.class);
+    }
+
+    private <C extends Column> C typed(final String label, final Class<C> type) {
+        final Column column = this.getColumn(label);
+        if (!type.isInstance(column)) {
+            throw new IllegalArgumentException("Column " + label + " is a " + column.getClass().getSimpleName()
+                    + ", not a " + type.getSimpleName());
+        }
+        return type.cast(column);
+    }
+
+    /**
+     * One column of the result.  Values are appended while the
+     * {@code ResultSet} is read, growing the storage geometrically, and the
+     * storage is trimmed once the last row has been read.
+     */
+    public abstract static class Column {
+
+        private final String label;
+
+        private final int sqlType;
+
+        /**
+         * One bit per row, set where the value was SQL NULL.
+         */
+        private long[] nulls = new long[0];
+
+        private int size;
+
+        Column(final String label, final int sqlType) {
+            this.label = label;
+            this.sqlType = sqlType;
+        }
+
+        /**
+         * @return The column label.
+         */
+        public String getLabel() {
+            return this.label;
+        }
+
+        /**
+         * @return The SQL type from {@code java.sql.Types}.
+         */
+        public int getSqlType() {
+            return this.sqlType;
+        }
+
+        /**
+         * @return The number of rows.
+         */
+        public int size() {
+            return this.size;
+        }
+
+        /**
+         * @param row The row index, starting at 0.
+         * @return true if the value of this row was SQL NULL.
+         */
+        public boolean isNull(final int row) {
+            this.checkRow(row);
+            return (this.nulls[row >>> 6] & (1L << row)) != 0;
+        }
+
+        /**
+         * @param row The row index, starting at 0.
+         * @return The value of this row, boxed, or {@code null} if it was
+         * SQL NULL.
+         */
+        public Object getObject(final int row) {
+            return this.isNull(row) ? null : this.value(row);
+        }
+
+        final void checkRow(final int row) {
+            if (row < 0 || row >= this.size) {
+                throw new IndexOutOfBoundsException("Row index out of range: " + row);
+            }
+        }
+
+        /**
+         * Appends the value of the current row.
+         */
+        final void append(final ResultSet rs, final int index) throws SQLException {
+            if (this.read(rs, index, this.size)) {
+                this.nulls[this.size >>> 6] |= 1L << this.size;
+            }
+            this.size++;
+        }
+
+        /**
+         * Resizes the storage to hold {@code capacity} rows.
+         */
+        final void resize(final int capacity) {
+            this.nulls = Arrays.copyOf(this.nulls, (capacity + 63) >>> 6);
+            this.resizeValues(capacity);
+        }
+
+        /**
+         * Stores the value of the current row at {@code row}.
+         *
+         * @return true if the value was SQL NULL.
+         */
+        abstract boolean read(ResultSet rs, int index, int row) throws SQLException;
+
+        abstract void resizeValues(int capacity);
+
+        /**
+         * Releases the state only needed while reading.
+         */
+        void finish() {
+        }
+
+        abstract Object value(int row);
+    }
+
+    /**
+     * A column of {@code int} values.
+     */
+    public static final class IntColumn extends Column {
+
+        private int[] values = new int[0];
+
+        public IntColumn(final String label, final int sqlType) {
+            super(label, sqlType);
+        }
+
+        /**
+         * @param row The row index, starting at 0.
+         * @return The value, or 0 if it was SQL NULL.
+         */
+        public int getInt(final int row) {
+            this.checkRow(row);
+            return this.values[row];
+        }
+
+        /**
+         * @return The values, 0 where SQL NULL; not copied.
+         */
+        public int[] values() {
+            return this.values;
+        }
+
+        @Override
+        boolean read(final ResultSet rs, final int index, final int row) throws SQLException {
+            this.values[row] = rs.getInt(index);
+            return rs.wasNull();
+        }
+
+        @Override
+        void resizeValues(final int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        Object value(final int row) {
+            return this.values[row];
+        }
+    }
+
+    /**
+     * A column of {@code long} values.
+     */
+    public static final class LongColumn extends Column {
+
+        private long[] values = new long[0];
+
+        public LongColumn(final String label, final int sqlType) {
+            super(label, sqlType);
+        }
+
+        /**
+         * @param row The row index, starting at 0.
+         * @return The value, or 0 if it was SQL NULL.
+         */
+        public long getLong(final int row) {
+            this.checkRow(row);
+            return this.values[row];
+        }
+
+        /**
+         * @return The values, 0 where SQL NULL; not copied.
+         */
+        public long[] values() {
+            return this.values;
+        }
+
+        @Override
+        boolean read(final ResultSet rs, final int index, final int row) throws SQLException {
+            this.values[row] = rs.getLong(index);
+            return rs.wasNull();
+        }
+
+        @Override
+        void resizeValues(final int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        Object value(final int row) {
+            return this.values[row];
+        }
+    }
+
+    /**
+     * A column of {@code double} values.
+     */
+    public static final class DoubleColumn extends Column {
+
+        private double[] values = new double[0];
+
+        public DoubleColumn(final String label, final int sqlType) {
+            super(label, sqlType);
+        }
+
+        /**
+         * @param row The row index, starting at 0.
+         * @return The value, or 0 if it was SQL NULL.
+         */
+        public double getDouble(final int row) {
+            this.checkRow(row);
+            return this.values[row];
+        }
+
+        /**
+         * @return The values, 0 where SQL NULL; not copied.
+         */
+        public double[] values() {
+            return this.values;
+        }
+
+        @Override
+        boolean read(final ResultSet rs, final int index, final int row) throws SQLException {
+            this.values[row] = rs.getDouble(index);
+            return rs.wasNull();
+        }
+
+        @Override
+        void resizeValues(final int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        Object value(final int row) {
+            return this.values[row];
+        }
+    }
+
+    /**
+     * A column of {@code boolean} values.
+     */
+    public static final class BooleanColumn extends Column {
+
+        private boolean[] values = new boolean[0];
+
+        public BooleanColumn(final String label, final int sqlType) {
+            super(label, sqlType);
+        }
+
+        /**
+         * @param row The row index, starting at 0.
+         * @return The value, or false if it was SQL NULL.
+         */
+        public boolean getBoolean(final int row) {
+            this.checkRow(row);
+            return this.values[row];
+        }
+
+        /**
+         * @return The values, false where SQL NULL; not copied.
+         */
+        public boolean[] values() {
+            return this.values;
+        }
+
+        @Override
+        boolean read(final ResultSet rs, final int index, final int row) throws SQLException {
+            this.values[row] = rs.getBoolean(index);
+            return rs.wasNull();
+        }
+
+        @Override
+        void resizeValues(final int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        Object value(final int row) {
+            return this.values[row];
+        }
+    }
+
+    /**
+     * A dictionary-encoded column of strings.  Each distinct value is
+     * stored once; rows hold its code, or -1 for SQL NULL.
+     */
+    public static final class StringColumn extends Column {
+
+        private int[] codes = new int[0];
+
+        private String[] dictionary = new String[16];
+
+        private int dictionarySize;
+
+        /**
+         * Code by value, only kept while reading.
+         */
+        private Map<String, Integer> lookup = new HashMap<>();
+
+        public StringColumn(final String label, final int sqlType) {
+            super(label, sqlType);
+        }
+
+        /**
+         * @param row The row index, starting at 0.
+         * @return The value, or {@code null} if it was SQL NULL.
+         */
+        public String getString(final int row) {
+            this.checkRow(row);
+            final int code = this.codes[row];
+            return code < 0 ? null : this.dictionary[code];
+        }
+
+        /**
+         * @return The dictionary code of each row, -1 where SQL NULL; not
+         * copied.
+         */
+        public int[] codes() {
+            return this.codes;
+        }
+
+        /**
+         * @return The distinct values, indexed by code; not copied.
+         */
+        public String[] dictionary() {
+            return this.dictionary;
+        }
+
+        @Override
+        boolean read(final ResultSet rs, final int index, final int row) throws SQLException {
+            final String value = rs.getString(index);
+            if (value == null) {
+                this.codes[row] = -1;
+                return true;
+            }
+            Integer code = this.lookup.get(value);
+            if (code == null) {
+                code = this.dictionarySize;
+                if (code == this.dictionary.length) {
+                    this.dictionary = Arrays.copyOf(this.dictionary, code << 1);
+                }
+                this.dictionary[this.dictionarySize++] = value;
+                this.lookup.put(value, code);
+            }
+            this.codes[row] = code;
+            return false;
+        }
+
+        @Override
+        void resizeValues(final int capacity) {
+            this.codes = Arrays.copyOf(this.codes, capacity);
+        }
+
+        @Override
+        void finish() {
+            this.dictionary = Arrays.copyOf(this.dictionary, this.dictionarySize);
+            this.lookup = null;
+        }
+
+        @Override
+        Object value(final int row) {
+            return this.dictionary[this.codes[row]];
+        }
+    }
+
+    /**
+     * A column of any other type, read with {@code getObject}.
+     */
+    public static final class ObjectColumn extends Column {
+
+        private Object[] values = new Object[0];
+
+        public ObjectColumn(final String label, final int sqlType) {
+            super(label, sqlType);
+        }
+
+        /**
+         * @return The values, {@code null} where SQL NULL; not copied.
+         */
+        public Object[] values() {
+            return this.values;
+        }
+
+        @Override
+        boolean read(final ResultSet rs, final int index, final int row) throws SQLException {
+            this.values[row] = rs.getObject(index);
+            return this.values[row] == null;
+        }
+
+        @Override
+        void resizeValues(final int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        Object value(final int row) {
+            return this.values[row];
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.AliceTheCat.handlers;
+
+import com.AliceTheCat.ResultSetHandler;
+import com.AliceTheCat.RowMapper;
+import com.AliceTheCat.RowProcessor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code ResultSetHandler} implementation that converts a
+ * {@code ResultSet} into a {@code Map} of beans, keyed by the value of one
+ * column.  The map is sized up front from the expected number of rows.
+ * When several rows share a key the last one wins.  Use
+ * {@link LongKeyedHandler} for integral keys, which it stores unboxed.
+ * This class is thread safe.
+ *
+ * @param <K> the type of keys
+ * @param <T> the target bean type
+ */
+public class KeyedHandler<K, T> implements ResultSetHandler<Map<K, T>> {
+
+    /**
+     * The Class of beans produced by this handler.
+     */
+    private final Class<? extends T> type;
+
+    /**
+     * The column that holds the keys.
+     */
+    private final String columnName;
+
+    /**
+     * The number of rows the map is sized for up front.
+     */
+    private final int expectedRows;
+
+    /**
+     * The RowProcessor implementation to use when converting rows
+     * into beans.
+     */
+    private final RowProcessor convert;
+
+    /**
+     * Creates a new instance of KeyedHandler.
+     *
+     * @param type The Class that the values of the map are created from.
+     * @param columnName The column that holds the keys.
+     */
+    public KeyedHandler(final Class<? extends T> type, final String columnName) {
+        this(type, columnName, 0, ArrayHandler.ROW_PROCESSOR);
+    }
+
+    /**
+     * Creates a new instance of KeyedHandler.
+     *
+     * @param type The Class that the values of the map are created from.
+     * @param columnName The column that holds the keys.
+     * @param expectedRows The expected number of rows, used to size the map.
+     * @param convert The {@code RowProcessor} implementation
+     * to use when converting rows into beans.
+     */
+    public KeyedHandler(final Class<? extends T> type, final String columnName, final int expectedRows,
+                        final RowProcessor convert) {
+        if (expectedRows < 0) {
+            throw new IllegalArgumentException("expectedRows cannot be negative");
+        }
+        this.type = type;
+        this.columnName = columnName;
+        this.expectedRows = expectedRows;
+        this.convert = convert;
+    }
+
+    /**
+     * Convert the whole {@code ResultSet} into a map of beans keyed by the
+     * column given in the constructor.
+     *
+     * @param rs The {@code ResultSet} to handle.
+     *
+     * @return The beans by key, never {@code null}.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public Map<K, T> handle(final ResultSet rs) throws SQLException {
+        // HashMap resizes past 3/4 of its capacity
+        final Map<K, T> result = new HashMap<>(Math.max(16, (int) Math.min(1L << 30, this.expectedRows * 4L / 3 + 1)));
+        if (!rs.next()) {
+            return result;
+        }
+
+        final RowMapper<T> mapper = this.convert.beanMapper(rs.getMetaData(), this.type);
+        final int column = rs.findColumn(this.columnName);
+        do {
+            result.put(this.createKey(rs, column), mapper.map(rs));
+        } while (rs.next());
+        return result;
+    }
+
+    /**
+     * Reads the key of the current row.  This implementation returns the
+     * value of the key column as returned by {@code getObject}; override to
+     * convert it.
+     *
+     * @param rs The {@code ResultSet} positioned on a valid row.
+     * @param column The index of the key column.
+     * @return The key of the row.
+     * @throws SQLException if a database access error occurs
+     */
+    @SuppressWarnings("unchecked")
+    protected K createKey(final ResultSet rs, final int column) throws SQLException {
+        return (K) rs.getObject(column);
+    }
+}
@@ -0,0 +1,101 @@
+package com.AliceTheCat.handlers;
+
+import com.AliceTheCat.ResultSetHandler;
+import com.AliceTheCat.RowMapper;
+import com.AliceTheCat.RowProcessor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * {@code ResultSetHandler} implementation that converts a
+ * {@code ResultSet} into a {@link LongKeyedMap} of beans, keyed by an
+ * integral column read with {@code getLong}.  Keys are never boxed, which
+ * suits lookup tables loaded by id.  When several rows share a key the
+ * last one wins.  This class is thread safe.
+ *
+ * @param <T> the target bean type
+ * @see KeyedHandler
+ */
+public class LongKeyedHandler<T> implements ResultSetHandler<LongKeyedMap<T>> {
+
+    /**
+     * The Class of beans produced by this handler.
+     */
+    private final Class<? extends T> type;
+
+    /**
+     * The column that holds the keys.
+     */
+    private final String columnName;
+
+    /**
+     * The number of rows the map is sized for up front.
+     */
+    private final int expectedRows;
+
+    /**
+     * The RowProcessor implementation to use when converting rows
+     * into beans.
+     */
+    private final RowProcessor convert;
+
+    /**
+     * Creates a new instance of LongKeyedHandler.
+     *
+     * @param type The Class that the values of the map are created from.
+     * @param columnName The column that holds the keys.
+     */
+    public LongKeyedHandler(final Class<? extends T> type, final String columnName) {
+        this(type, columnName, 0, ArrayHandler.ROW_PROCESSOR);
+    }
+
+    /**
+     * Creates a new instance of LongKeyedHandler.
+     *
+     * @param type The Class that the values of the map are created from.
+     * @param columnName The column that holds the keys.
+     * @param expectedRows The expected number of rows, used to size the map.
+     * @param convert The {@code RowProcessor} implementation
+     * to use when converting rows into beans.
+     */
+    public LongKeyedHandler(final Class<? extends T> type, final String columnName, final int expectedRows,
+                            final RowProcessor convert) {
+        if (expectedRows < 0) {
+            throw new IllegalArgumentException("expectedRows cannot be negative");
+        }
+        this.type = type;
+        this.columnName = columnName;
+        this.expectedRows = expectedRows;
+        this.convert = convert;
+    }
+
+    /**
+     * Convert the whole {@code ResultSet} into a map of beans keyed by the
+     * column given in the constructor.
+     *
+     * @param rs The {@code ResultSet} to handle.
+     *
+     * @return The beans by key, never {@code null}.
+     *
+     * @throws SQLException if a database access error occurs, or a key is
+     * SQL NULL
+     */
+    public LongKeyedMap<T> handle(final ResultSet rs) throws SQLException {
+        final LongKeyedMap<T> result = new LongKeyedMap<>(this.expectedRows);
+        if (!rs.next()) {
+            return result;
+        }
+
+        final RowMapper<T> mapper = this.convert.beanMapper(rs.getMetaData(), this.type);
+        final int column = rs.findColumn(this.columnName);
+        do {
+            final long key = rs.getLong(column);
+            if (rs.wasNull()) {
+                throw new SQLException("Null key in column " + this.columnName);
+            }
+            result.put(key, mapper.map(rs));
+        } while (rs.next());
+        return result;
+    }
+}
@@ -0,0 +1,229 @@
+package com.AliceTheCat.handlers;
+
+/**
+ * A map from primitive {@code long} keys to values, built by
+ * {@link LongKeyedHandler}.  Keys are stored unboxed in an open-addressing
+ * table with linear probing, so an entry costs a {@code long} and a
+ * reference instead of a boxed key and an entry object.  {@code int} keys
+ * are stored widened.
+ *
+ * <p>
+ * This class is not synchronized; a map that is no longer modified can be
+ * read by several threads once safely published.
+ * </p>
+ *
+ * @param <V> the value type
+ */
+public final class LongKeyedMap<V> {
+
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The table fills up to 3/4 before growing.
+     */
+    private static final int LOAD_NUMERATOR = 3;
+
+    private static final int LOAD_DENOMINATOR = 4;
+
+    /**
+     * The key of each slot; 0 marks an empty slot, key 0 itself is kept
+     * apart in {@link #zeroValue}.
+     */
+    private long[] keys;
+
+    private Object[] values;
+
+    private int mask;
+
+    private int shift;
+
+    private int size;
+
+    private boolean hasZeroKey;
+
+    private Object zeroValue;
+
+    /**
+     * Creates an empty map.
+     *
+     * @param expectedSize The number of entries to size the table for.
+     */
+    public LongKeyedMap(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize cannot be negative");
+        }
+        final long minCapacity = (long) expectedSize * LOAD_DENOMINATOR / LOAD_NUMERATOR + 1;
+        int capacity = 8;
+        while (capacity < minCapacity) {
+            if (capacity == 1 << 30) {
+                throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+            }
+            capacity <<= 1;
+        }
+        this.allocate(capacity);
+    }
+
+    /**
+     * @return The number of entries.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return true if the map has no entries.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * @param key The key.
+     * @return true if the map has an entry for the key.
+     */
+    public boolean containsKey(final long key) {
+        if (key == 0) {
+            return this.hasZeroKey;
+        }
+        return this.keys[this.slot(key)] == key;
+    }
+
+    /**
+     * @param key The key.
+     * @return The value for the key, or {@code null} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final long key) {
+        if (key == 0) {
+            return (V) this.zeroValue;
+        }
+        final int slot = this.slot(key);
+        return this.keys[slot] == key ? (V) this.values[slot] : null;
+    }
+
+    /**
+     * Associates the value with the key, replacing any previous value.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return The previous value, or {@code null} if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(final long key, final V value) {
+        if (key == 0) {
+            final Object previous = this.zeroValue;
+            if (!this.hasZeroKey) {
+                this.hasZeroKey = true;
+                this.size++;
+            }
+            this.zeroValue = value;
+            return (V) previous;
+        }
+
+        final int slot = this.slot(key);
+        if (this.keys[slot] == key) {
+            final Object previous = this.values[slot];
+            this.values[slot] = value;
+            return (V) previous;
+        }
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        if (++this.size > (long) this.keys.length * LOAD_NUMERATOR / LOAD_DENOMINATOR) {
+            this.rehash(this.keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Passes every entry to the consumer, in no particular order.
+     *
+     * @param consumer The consumer.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(final EntryConsumer<? super V> consumer) {
+        if (this.hasZeroKey) {
+            consumer.accept(0, (V) this.zeroValue);
+        }
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i] != 0) {
+                consumer.accept(this.keys[i], (V) this.values[i]);
+            }
+        }
+    }
+
+    /**
+     * @return The keys, in no particular order.
+     */
+    public long[] keys() {
+        final long[] result = new long[this.size];
+        int i = 0;
+        if (this.hasZeroKey) {
+            i++;
+        }
+        for (final long key : this.keys) {
+            if (key != 0) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the slot holding {@code key}, or the empty slot where it would
+     * be inserted.
+     */
+    private int slot(final long key) {
+        int slot = (int) ((key * PHI) >>> this.shift);
+        while (this.keys[slot] != 0 && this.keys[slot] != key) {
+            slot = (slot + 1) & this.mask;
+        }
+        return slot;
+    }
+
+    private void allocate(final int capacity) {
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private void rehash(final int capacity) {
+        final long[] oldKeys = this.keys;
+        final Object[] oldValues = this.values;
+        this.allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                final int slot = this.slot(oldKeys[i]);
+                this.keys[slot] = oldKeys[i];
+                this.values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+        this.forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append('=').append(value);
+        });
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Receives the entries of a {@code LongKeyedMap}.
+     *
+     * @param <V> the value type
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * @param key The key.
+         * @param value The value.
+         */
+        void accept(long key, V value);
+    }
+}
@@ -0,0 +1,58 @@
+package com.AliceTheCat.handlers;
+
+import com.AliceTheCat.ResultSetHandler;
+import com.AliceTheCat.RowProcessor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code ResultSetHandler} implementation that converts a
+ * {@code ResultSet} into a {@code List} of {@code Map}s, one per row.
+ * With the default {@code BasicRowProcessor} the maps are read-only,
+ * case insensitive and share their column index. This class is thread
+ * safe.
+ *
+ * @see RowProcessor#toMapList(ResultSet)
+ */
+public class MapListHandler implements ResultSetHandler<List<Map<String, Object>>> {
+
+    /**
+     * The RowProcessor implementation to use when converting rows
+     * into Maps.
+     */
+    private final RowProcessor convert;
+
+    /**
+     * Creates a new instance of MapListHandler using a
+     * {@code BasicRowProcessor} for conversion.
+     */
+    public MapListHandler() {
+        this(ArrayHandler.ROW_PROCESSOR);
+    }
+
+    /**
+     * Creates a new instance of MapListHandler.
+     *
+     * @param convert The {@code RowProcessor} implementation
+     * to use when converting rows into Maps.
+     */
+    public MapListHandler(final RowProcessor convert) {
+        this.convert = convert;
+    }
+
+    /**
+     * Convert the whole {@code ResultSet} into a List of Maps.
+     *
+     * @param rs The {@code ResultSet} to handle.
+     *
+     * @return A List of Maps, never {@code null}.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public List<Map<String, Object>> handle(final ResultSet rs) throws SQLException {
+        return this.convert.toMapList(rs);
+    }
+}
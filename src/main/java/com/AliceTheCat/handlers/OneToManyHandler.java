@@ -0,0 +1,186 @@
+package com.AliceTheCat.handlers;
+
+import com.AliceTheCat.ResultSetHandler;
+import com.AliceTheCat.RowMapper;
+import com.AliceTheCat.RowProcessor;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * {@code ResultSetHandler} implementation that converts the rows of a
+ * one-to-many JOIN into parent beans holding their children, in a single
+ * pass.  Every row is turned into a child bean and passed to the parent
+ * whose key is in the parent key column; a parent is created from the
+ * first row carrying its key and looked up in a {@link LongKeyedMap} for
+ * the following ones, so each parent is created once whatever the number
+ * of its children and the rows don't need to be sorted by parent.
+ *
+ * <pre>
+ * ResultSetHandler&lt;List&lt;Order&gt;&gt; h = new OneToManyHandler&lt;&gt;(
+ *         Order.class, "order_id", LineItem.class, "item_id", Order::addItem);
+ * List&lt;Order&gt; orders = run.query(
+ *         "SELECT o.*, i.id AS item_id, i.product, i.quantity "
+ *         + "FROM orders o LEFT JOIN line_items i ON i.order_id = o.order_id", h);
+ * </pre>
+ *
+ * <p>
+ * Both beans are created from the whole row, so columns whose name
+ * matches a property of the other bean should be aliased, or remapped
+ * with a {@link com.AliceTheCat.BeanProcessor} given to the constructor.
+ * Each row is expected to carry one child: a query joining several child
+ * tables repeats the children of one table for each row of the other.
+ * This class is thread safe.
+ * </p>
+ *
+ * @param <P> the parent bean type
+ * @param <C> the child bean type
+ * @see LongKeyedHandler
+ */
+public class OneToManyHandler<P, C> implements ResultSetHandler<List<P>> {
+
+    /**
+     * The Class of the parent beans.
+     */
+    private final Class<? extends P> parentType;
+
+    /**
+     * The column that holds the parent keys.
+     */
+    private final String parentKeyColumn;
+
+    /**
+     * The Class of the child beans.
+     */
+    private final Class<? extends C> childType;
+
+    /**
+     * The column that is SQL NULL on rows without a child, or {@code null}.
+     */
+    private final String childKeyColumn;
+
+    /**
+     * Adds a child to its parent.
+     */
+    private final BiConsumer<? super P, ? super C> addChild;
+
+    /**
+     * The number of parents the identity map is sized for up front.
+     */
+    private final int expectedParents;
+
+    /**
+     * The RowProcessor used to convert rows into parent beans.
+     */
+    private final RowProcessor parentConvert;
+
+    /**
+     * The RowProcessor used to convert rows into child beans.
+     */
+    private final RowProcessor childConvert;
+
+    /**
+     * Creates a new instance of OneToManyHandler.
+     *
+     * @param parentType The Class that the parents are created from.
+     * @param parentKeyColumn The column that holds the parent keys.
+     * @param childType The Class that the children are created from.
+     * @param childKeyColumn The column that is SQL NULL on the rows of a
+     * parent without children, typically the key of the child table in an
+     * outer join; {@code null} to create a child from every row.
+     * @param addChild Adds a child to its parent, e.g.
+     * {@code Order::addItem}.
+     */
+    public OneToManyHandler(final Class<? extends P> parentType, final String parentKeyColumn,
+                            final Class<? extends C> childType, final String childKeyColumn,
+                            final BiConsumer<? super P, ? super C> addChild) {
+        this(parentType, parentKeyColumn, childType, childKeyColumn, addChild, 0,
+                ArrayHandler.ROW_PROCESSOR, ArrayHandler.ROW_PROCESSOR);
+    }
+
+    /**
+     * Creates a new instance of OneToManyHandler.
+     *
+     * @param parentType The Class that the parents are created from.
+     * @param parentKeyColumn The column that holds the parent keys.
+     * @param childType The Class that the children are created from.
+     * @param childKeyColumn The column that is SQL NULL on the rows of a
+     * parent without children, or {@code null} to create a child from
+     * every row.
+     * @param addChild Adds a child to its parent.
+     * @param expectedParents The expected number of parents, used to size
+     * the identity map.
+     * @param parentConvert The {@code RowProcessor} implementation to use
+     * when converting rows into parents.
+     * @param childConvert The {@code RowProcessor} implementation to use
+     * when converting rows into children.
+     */
+    public OneToManyHandler(final Class<? extends P> parentType, final String parentKeyColumn,
+                            final Class<? extends C> childType, final String childKeyColumn,
+                            final BiConsumer<? super P, ? super C> addChild, final int expectedParents,
+                            final RowProcessor parentConvert, final RowProcessor childConvert) {
+        if (parentKeyColumn == null) {
+            throw new IllegalArgumentException("parentKeyColumn cannot be null");
+        }
+        if (addChild == null) {
+            throw new IllegalArgumentException("addChild cannot be null");
+        }
+        if (expectedParents < 0) {
+            throw new IllegalArgumentException("expectedParents cannot be negative");
+        }
+        this.parentType = parentType;
+        this.parentKeyColumn = parentKeyColumn;
+        this.childType = childType;
+        this.childKeyColumn = childKeyColumn;
+        this.addChild = addChild;
+        this.expectedParents = expectedParents;
+        this.parentConvert = parentConvert;
+        this.childConvert = childConvert;
+    }
+
+    /**
+     * Convert the whole {@code ResultSet} into parent beans with their
+     * children.
+     *
+     * @param rs The {@code ResultSet} to handle.
+     *
+     * @return The parents in the order their key first appears, never
+     * {@code null}.
+     *
+     * @throws SQLException if a database access error occurs, or a parent
+     * key is SQL NULL
+     */
+    public List<P> handle(final ResultSet rs) throws SQLException {
+        final List<P> parents = new ArrayList<>(this.expectedParents);
+        if (!rs.next()) {
+            return parents;
+        }
+
+        final ResultSetMetaData rsmd = rs.getMetaData();
+        final RowMapper<P> parentMapper = this.parentConvert.beanMapper(rsmd, this.parentType);
+        final RowMapper<C> childMapper = this.childConvert.beanMapper(rsmd, this.childType);
+        final int parentColumn = rs.findColumn(this.parentKeyColumn);
+        final int childColumn = this.childKeyColumn == null ? 0 : rs.findColumn(this.childKeyColumn);
+        final LongKeyedMap<P> byKey = new LongKeyedMap<>(this.expectedParents);
+        do {
+            final long key = rs.getLong(parentColumn);
+            if (rs.wasNull()) {
+                throw new SQLException("Null key in column " + this.parentKeyColumn);
+            }
+            P parent = byKey.get(key);
+            if (parent == null) {
+                parent = parentMapper.map(rs);
+                byKey.put(key, parent);
+                parents.add(parent);
+            }
+            if (childColumn == 0 || rs.getObject(childColumn) != null) {
+                this.addChild.accept(parent, childMapper.map(rs));
+            }
+        } while (rs.next());
+        return parents;
+    }
+}
@@ -0,0 +1,99 @@
+package com.AliceTheCat.handlers;
+
+import com.AliceTheCat.BeanProcessor;
+import com.AliceTheCat.ResultSetHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@code ResultSetHandler} implementation that converts a
+ * {@code ResultSet} into a {@code List} of beans, mapping chunks of rows
+ * on a {@code ForkJoinPool} while the next rows are fetched.  Use it for
+ * large results whose property conversions are expensive.  This class is
+ * thread safe.
+ *
+ * @param <T> the target bean type
+ * @see BeanProcessor#toBeanList(ResultSet, Class, ForkJoinPool, int)
+ */
+public class ParallelBeanListHandler<T> implements ResultSetHandler<List<T>> {
+
+    /**
+     * The number of rows mapped by one task if not supplied in the
+     * constructor.
+     */
+    public static final int DEFAULT_CHUNK_ROWS = 256;
+
+    /**
+     * Processor instance shared by the handlers created without one.
+     */
+    private static final BeanProcessor BEAN_PROCESSOR = new BeanProcessor();
+
+    /**
+     * The Class of beans produced by this handler.
+     */
+    private final Class<? extends T> type;
+
+    /**
+     * The BeanProcessor used to convert rows into beans.
+     */
+    private final BeanProcessor convert;
+
+    /**
+     * The pool the rows are mapped on.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The number of rows mapped by one task.
+     */
+    private final int chunkRows;
+
+    /**
+     * Creates a new instance of ParallelBeanListHandler mapping on the
+     * common pool.
+     *
+     * @param type The Class that objects returned from {@code handle()}
+     * are created from.
+     */
+    public ParallelBeanListHandler(final Class<? extends T> type) {
+        this(type, BEAN_PROCESSOR, ForkJoinPool.commonPool(), DEFAULT_CHUNK_ROWS);
+    }
+
+    /**
+     * Creates a new instance of ParallelBeanListHandler.
+     *
+     * @param type The Class that objects returned from {@code handle()}
+     * are created from.
+     * @param convert The {@code BeanProcessor} used to convert rows into
+     * beans.
+     * @param pool The pool the rows are mapped on.
+     * @param chunkRows The number of rows mapped by one task.
+     */
+    public ParallelBeanListHandler(final Class<? extends T> type, final BeanProcessor convert,
+                                   final ForkJoinPool pool, final int chunkRows) {
+        if (chunkRows <= 0) {
+            throw new IllegalArgumentException("chunkRows must be positive");
+        }
+        this.type = type;
+        this.convert = convert;
+        this.pool = pool;
+        this.chunkRows = chunkRows;
+    }
+
+    /**
+     * Convert the whole {@code ResultSet} into a List of beans with
+     * the {@code Class} given in the constructor.
+     *
+     * @param rs The {@code ResultSet} to handle.
+     *
+     * @return A List of beans in row order, never {@code null}.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public List<T> handle(final ResultSet rs) throws SQLException {
+        return this.convert.toBeanList(rs, this.type, this.pool, this.chunkRows);
+    }
+}